@@ -0,0 +1,91 @@
+package com.library.bookmanagement.benchmark;
+
+import com.library.bookmanagement.service.BookImportService;
+import com.library.bookmanagement.service.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Latency of fetching a set of books over HTTP: one POST /api/books/batch-get against one GET /api/books/{id} per book
+ * Run with the response cache disabled (cacheSize=0) and enabled to see both the query and the round trip savings
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BatchGetBenchmark {
+
+    private static final int CATALOG_SIZE = 10_000;
+
+    @Param({"50", "500"})
+    public int batchSize;
+
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest batchGet;
+    private List<HttpRequest> singleGets;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkContexts.startWeb(
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "logging.level.com.library.bookmanagement=WARN",
+                "library.cache.book-response.maximum-size=" + cacheSize);
+        FinderBenchmark.seed(context.getBean(BookImportService.class), CATALOG_SIZE);
+        long firstId = context.getBean(BookService.class).getBooksAfter(0L, 1).get(0).getId();
+
+        Random random = new Random(42);
+        List<Long> ids = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            ids.add(firstId + random.nextInt(CATALOG_SIZE));
+        }
+
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api/books";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String body = ids.stream().map(String::valueOf).collect(Collectors.joining(",", "{\"ids\":[", "]}"));
+        batchGet = HttpRequest.newBuilder(URI.create(baseUrl + "/batch-get"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        singleGets = ids.stream()
+                .map(id -> HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).GET().build())
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int batchGet() throws IOException, InterruptedException {
+        return client.send(batchGet, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+    }
+
+    @Benchmark
+    public int singleGets() throws IOException, InterruptedException {
+        int bytes = 0;
+        for (HttpRequest request : singleGets) {
+            bytes += client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,75 @@
+package com.library.bookmanagement.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.library.bookmanagement.BookManagementApplication;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Starts the application context used by the benchmarks
+ * Runs without the web server and with per-call logging silenced so only the measured code path is timed
+ */
+public final class BenchmarkContexts {
+
+    private static final List<String> DEFAULT_PROPERTIES = List.of(
+            "spring.jpa.show-sql=false",
+            "spring.jpa.properties.hibernate.format_sql=false",
+            "logging.level.root=WARN",
+            "logging.level.com.library.bookmanagement=WARN",
+            "springdoc.api-docs.enabled=false"
+    );
+
+    private BenchmarkContexts() {
+    }
+
+    /**
+     * Start a non-web application context
+     * @param properties extra properties overriding the defaults, in key=value form
+     * @return the running context
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        List<String> allProperties = new ArrayList<>(DEFAULT_PROPERTIES);
+        allProperties.addAll(Arrays.asList(properties));
+        return run(WebApplicationType.NONE, allProperties);
+    }
+
+    /**
+     * Start an application context with the web server on a random port and the logging configuration untouched
+     * @param properties extra properties, in key=value form
+     * @return the running context
+     */
+    public static ConfigurableApplicationContext startWeb(String... properties) {
+        List<String> allProperties = new ArrayList<>(List.of("server.port=0", "springdoc.api-docs.enabled=false"));
+        allProperties.addAll(Arrays.asList(properties));
+        return run(WebApplicationType.SERVLET, allProperties);
+    }
+
+    /**
+     * Properties are passed as command line arguments so they take precedence over application.properties
+     * and the profile files
+     * @param webApplicationType whether to start the web server
+     * @param properties the properties, in key=value form
+     * @return the running context
+     */
+    private static ConfigurableApplicationContext run(WebApplicationType webApplicationType, List<String> properties) {
+        String[] args = properties.stream().map(property -> "--" + property).toArray(String[]::new);
+        return new SpringApplicationBuilder(BookManagementApplication.class)
+                .web(webApplicationType)
+                .run(args);
+    }
+
+    /**
+     * Raise the root log level for benchmarks that run without a Spring context
+     * Without it logback defaults to DEBUG and the decorators would log on every call
+     */
+    public static void quietLogging() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+}
@@ -0,0 +1,108 @@
+package com.library.bookmanagement.benchmark;
+
+import com.library.bookmanagement.dto.BookImportResult;
+import com.library.bookmanagement.model.Book;
+import com.library.bookmanagement.repository.BookRepository;
+import com.library.bookmanagement.service.BookImportService;
+import com.library.bookmanagement.service.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Insert throughput through BookService.addBook, a multi-row saveAll and the bulk import path,
+ * with Book IDs from the pooled sequence or from an IDENTITY column as before the sequence was introduced
+ * With IDENTITY Hibernate inserts every persist at once to read its key, so saveAll cannot use JDBC batching;
+ * the bulk import assigns IDs itself and is a baseline that does not depend on the mapping
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BookInsertBenchmark {
+
+    private static final int BULK_ROWS = 1000;
+    private static final int SAVE_ALL_ROWS = 50;
+
+    @Param({"SEQUENCE", "IDENTITY"})
+    public String idGeneration;
+
+    private final AtomicLong isbnSequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private BookRepository bookRepository;
+    private BookImportService bookImportService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // The mapping file overrides only the ID generation of Book; the script keeps the sequence the import draws from
+        context = "IDENTITY".equals(idGeneration)
+                ? BenchmarkContexts.start(
+                        "spring.jpa.mapping-resources=META-INF/identity-ids-orm.xml",
+                        "spring.jpa.properties.hibernate.hbm2ddl.import_files=identity-ids.sql")
+                : BenchmarkContexts.start();
+        bookService = context.getBean(BookService.class);
+        bookRepository = context.getBean(BookRepository.class);
+        bookImportService = context.getBean(BookImportService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Book addBook() {
+        return bookService.addBook(newBook("bench-single-"));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAVE_ALL_ROWS)
+    public List<Book> saveAll() {
+        List<Book> books = new ArrayList<>(SAVE_ALL_ROWS);
+        for (int i = 0; i < SAVE_ALL_ROWS; i++) {
+            books.add(newBook("bench-save-all-"));
+        }
+        return bookRepository.saveAll(books);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_ROWS)
+    public BookImportResult bulkImport() throws IOException {
+        StringBuilder ndjson = new StringBuilder(BULK_ROWS * 160);
+        for (int i = 0; i < BULK_ROWS; i++) {
+            long n = isbnSequence.incrementAndGet();
+            ndjson.append("{\"title\":\"Benchmark Book ").append(n)
+                    .append("\",\"author\":\"Benchmark Author\",\"category\":\"Benchmark\",\"isbn\":\"bench-bulk-")
+                    .append(n).append("\",\"price\":19.99,\"featured\":").append(n % 2 == 0)
+                    .append(",\"bestseller\":").append(n % 3 == 0).append("}\n");
+        }
+        return bookImportService.importBooks(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)),
+                BookImportService.Format.NDJSON);
+    }
+
+    private Book newBook(String isbnPrefix) {
+        long n = isbnSequence.incrementAndGet();
+        return Book.builder()
+                .title("Benchmark Book " + n)
+                .author("Benchmark Author")
+                .category("Benchmark")
+                .isbn(isbnPrefix + n)
+                .price(new BigDecimal("19.99"))
+                .featured(n % 2 == 0)
+                .bestseller(n % 3 == 0)
+                .build();
+    }
+}
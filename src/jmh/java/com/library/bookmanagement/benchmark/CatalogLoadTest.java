@@ -0,0 +1,124 @@
+package com.library.bookmanagement.benchmark;
+
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test comparing platform-thread and virtual-thread request execution
+ * Each client sends the next request as soon as the previous one completes
+ * The default path reads a keyset page from the database on every request, so request threads block on JDBC
+ * Usage: CatalogLoadTest [clients] [durationSeconds] [path]
+ */
+public final class CatalogLoadTest {
+
+    private CatalogLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int durationSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        String path = args.length > 2 ? args[2] : "/api/books/page?limit=20";
+
+        List<String> report = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            report.add(run(virtualThreads, clients, durationSeconds, path));
+        }
+
+        System.out.println();
+        System.out.printf("%-10s %8s %10s %12s %10s %10s%n", "mode", "clients", "requests", "throughput/s", "p50 ms", "p99 ms");
+        report.forEach(System.out::println);
+    }
+
+    private static String run(boolean virtualThreads, int clients, int durationSeconds, String path) throws Exception {
+        try (ConfigurableApplicationContext context = BenchmarkContexts.startWeb(
+                "spring.profiles.active=" + (virtualThreads ? "virtual-threads" : "default"),
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "logging.level.com.library.bookmanagement=WARN",
+                "logging.level.org.springframework.web=WARN",
+                "logging.level.org.hibernate=WARN")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + path);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+
+            // Warm up the server and the JIT before measuring
+            drive(client, request, clients, 5);
+            Result result = drive(client, request, clients, durationSeconds);
+
+            return String.format("%-10s %8d %10d %12.0f %10.2f %10.2f",
+                    virtualThreads ? "virtual" : "platform", clients, result.requests(),
+                    result.requests() / (double) durationSeconds,
+                    result.percentileMillis(0.50), result.percentileMillis(0.99));
+        }
+    }
+
+    private static Result drive(HttpClient client, HttpRequest request, int clients, int durationSeconds)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(durationSeconds).toNanos();
+        List<List<Long>> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong errors = new AtomicLong();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    List<Long> own = new ArrayList<>();
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                own.add(System.nanoTime() - start);
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    latencies.add(own);
+                });
+            }
+        }
+
+        List<Long> all = new ArrayList<>();
+        latencies.forEach(all::addAll);
+        Collections.sort(all);
+        if (errors.get() > 0) {
+            System.out.println("Failed requests: " + errors.get());
+        }
+        return new Result(all);
+    }
+
+    private record Result(List<Long> sortedLatencies) {
+
+        long requests() {
+            return sortedLatencies.size();
+        }
+
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.isEmpty()) {
+                return 0;
+            }
+            int index = (int) Math.min(sortedLatencies.size() - 1, Math.ceil(percentile * sortedLatencies.size()) - 1);
+            return sortedLatencies.get(Math.max(index, 0)) / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.library.bookmanagement.benchmark;
+
+import com.library.bookmanagement.decorator.BestsellerBookDecorator;
+import com.library.bookmanagement.decorator.BookComponent;
+import com.library.bookmanagement.decorator.CompiledBook;
+import com.library.bookmanagement.decorator.Decoration;
+import com.library.bookmanagement.decorator.DecorationPlan;
+import com.library.bookmanagement.decorator.FeaturedBookDecorator;
+import com.library.bookmanagement.decorator.SimpleBook;
+import com.library.bookmanagement.model.Book;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BookComponent decoration at varying chain depths
+ * Compares building and evaluating a chain of decorator objects with evaluating the compiled plan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DecoratorChainBenchmark {
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int depth;
+
+    private Book book;
+    private DecorationPlan plan;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkContexts.quietLogging();
+        book = Book.builder()
+                .title("Clean Code")
+                .author("Robert C. Martin")
+                .price(new BigDecimal("45.99"))
+                .build();
+
+        List<Decoration> decorations = new ArrayList<>();
+        for (int i = 0; i < depth; i++) {
+            decorations.add(i % 2 == 0 ? Decoration.FEATURED : Decoration.BESTSELLER);
+        }
+        plan = DecorationPlan.compile(decorations);
+    }
+
+    @Benchmark
+    public void decoratorChain(Blackhole blackhole) {
+        BookComponent component = new SimpleBook(book);
+        for (int i = 0; i < depth; i++) {
+            component = i % 2 == 0
+                    ? new FeaturedBookDecorator(component)
+                    : new BestsellerBookDecorator(component);
+        }
+        blackhole.consume(component.getPrice());
+        blackhole.consume(component.getDescription());
+    }
+
+    @Benchmark
+    public void compiledPlan(Blackhole blackhole) {
+        BookComponent component = new CompiledBook(book, plan);
+        blackhole.consume(component.getPrice());
+        blackhole.consume(component.getDescription());
+    }
+}
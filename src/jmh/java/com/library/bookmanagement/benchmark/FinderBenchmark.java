@@ -0,0 +1,89 @@
+package com.library.bookmanagement.benchmark;
+
+import com.library.bookmanagement.model.BookView;
+import com.library.bookmanagement.service.BookImportService;
+import com.library.bookmanagement.service.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end BookService finders against an H2 catalog seeded through the bulk import path
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FinderBenchmark {
+
+    @Param({"1000", "10000"})
+    public int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkContexts.start();
+        bookService = context.getBean(BookService.class);
+        seed(context.getBean(BookImportService.class), catalogSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookView> getAllBooks() {
+        return bookService.getAllBooks();
+    }
+
+    @Benchmark
+    public List<BookView> findByCategory() {
+        return bookService.findByCategory("Category 7");
+    }
+
+    @Benchmark
+    public List<BookView> findByAuthor() {
+        return bookService.findByAuthor("Author 42");
+    }
+
+    @Benchmark
+    public List<BookView> findFeaturedBooks() {
+        return bookService.findFeaturedBooks();
+    }
+
+    @Benchmark
+    public List<BookView> findBestsellers() {
+        return bookService.findBestsellers();
+    }
+
+    /**
+     * Seed the catalog with generated books
+     * @param importService the bulk import service
+     * @param count the number of books
+     * @throws IOException if the generated upload cannot be read
+     */
+    static void seed(BookImportService importService, int count) throws IOException {
+        StringBuilder ndjson = new StringBuilder(count * 160);
+        for (int i = 0; i < count; i++) {
+            ndjson.append("{\"title\":\"Benchmark Book ").append(i)
+                    .append("\",\"author\":\"Author ").append(i % 500)
+                    .append("\",\"category\":\"Category ").append(i % 20)
+                    .append("\",\"isbn\":\"seed-").append(i)
+                    .append("\",\"price\":").append(10 + i % 90).append(".99")
+                    .append(",\"featured\":").append(i % 10 == 0)
+                    .append(",\"bestseller\":").append(i % 7 == 0).append("}\n");
+        }
+        importService.importBooks(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)),
+                BookImportService.Format.NDJSON);
+    }
+}
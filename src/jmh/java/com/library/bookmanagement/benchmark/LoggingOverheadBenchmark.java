@@ -0,0 +1,68 @@
+package com.library.bookmanagement.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the logging configuration, measured over HTTP
+ * default: synchronous console logging at DEBUG with show-sql, as in application.properties
+ * prod: the prod profile with async buffered file logging, sampled requests and slow-query-only SQL logging
+ * The default mode floods the console, which is the overhead being measured
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LoggingOverheadBenchmark {
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest getBookById;
+    private HttpRequest getFeaturedBooks;
+    private Path logDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        logDirectory = Files.createTempDirectory("library-logs");
+        context = BenchmarkContexts.startWeb(
+                "spring.profiles.active=" + profile,
+                "logging.file.path=" + logDirectory);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        getBookById = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/books/1")).GET().build();
+        getFeaturedBooks = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/books/featured"))
+                .GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(logDirectory);
+    }
+
+    @Benchmark
+    public int getBookById() throws IOException, InterruptedException {
+        return client.send(getBookById, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int getFeaturedBooks() throws IOException, InterruptedException {
+        return client.send(getFeaturedBooks, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
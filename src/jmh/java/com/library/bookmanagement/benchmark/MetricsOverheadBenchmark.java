@@ -0,0 +1,50 @@
+package com.library.bookmanagement.benchmark;
+
+import com.library.bookmanagement.dto.BookPageResponse;
+import com.library.bookmanagement.dto.BookResponse;
+import com.library.bookmanagement.facade.LibraryFacade;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the operation metrics on the hot read path
+ * Compares the cached getBookById path and a keyset page read, which converts every book of the page,
+ * with the metrics aspect and the conversion meters on and off
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MetricsOverheadBenchmark {
+
+    @Param({"false", "true"})
+    public boolean metricsEnabled;
+
+    private ConfigurableApplicationContext context;
+    private LibraryFacade libraryFacade;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("library.metrics.operations.enabled=" + metricsEnabled);
+        libraryFacade = context.getBean(LibraryFacade.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookResponse getBookByIdCached() {
+        return libraryFacade.getBookById(1L);
+    }
+
+    @Benchmark
+    public BookPageResponse getBookPage() {
+        return libraryFacade.getBookPage(null, 100);
+    }
+}
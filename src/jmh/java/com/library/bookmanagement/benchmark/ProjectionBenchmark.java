@@ -0,0 +1,90 @@
+package com.library.bookmanagement.benchmark;
+
+import com.library.bookmanagement.repository.BookRepository;
+import com.library.bookmanagement.service.BookImportService;
+import com.library.bookmanagement.service.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List reads through managed entities versus read-only projections
+ * "entity" loads full Book entities in a read-write transaction, as the list paths did before;
+ * "projection" goes through the read-only BookService projections
+ * Run the main method for the allocation profile (gc.alloc.rate.norm is bytes per call)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProjectionBenchmark {
+
+    @Param({"1000", "10000"})
+    public int catalogSize;
+
+    @Param({"entity", "projection"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private BookRepository bookRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkContexts.start("library.metrics.operations.enabled=false");
+        bookService = context.getBean(BookService.class);
+        bookRepository = context.getBean(BookRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        FinderBenchmark.seed(context.getBean(BookImportService.class), catalogSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<?> getAllBooks() {
+        return "entity".equals(mode)
+                ? transactionTemplate.execute(status -> bookRepository.findAll())
+                : bookService.getAllBooks();
+    }
+
+    @Benchmark
+    public List<?> findByCategory() {
+        return "entity".equals(mode)
+                ? transactionTemplate.execute(status -> bookRepository.findByCategory("Category 7"))
+                : bookService.findByCategory("Category 7");
+    }
+
+    @Benchmark
+    public List<?> findFeaturedBooks() {
+        return "entity".equals(mode)
+                ? transactionTemplate.execute(status -> bookRepository.findByFeatured(true))
+                : bookService.findFeaturedBooks();
+    }
+
+    /**
+     * Run the benchmark with the GC profiler to compare allocation per call
+     * @param args unused
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProjectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,72 @@
+package com.library.bookmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.library.bookmanagement.dto.BookResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of List&lt;BookResponse&gt; as returned by the list endpoints
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private List<BookResponse> books;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, BookResponse.class));
+        books = sampleResponses(size);
+    }
+
+    @Benchmark
+    public void serializeList() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), books);
+    }
+
+    /**
+     * Build decorated book responses with varied flags and prices
+     * @param count the number of responses
+     * @return the responses
+     */
+    public static List<BookResponse> sampleResponses(int count) {
+        List<BookResponse> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BigDecimal price = BigDecimal.valueOf(1000 + (i * 37L) % 9000, 2);
+            boolean featured = i % 2 == 0;
+            boolean bestseller = i % 3 == 0;
+            responses.add(BookResponse.builder()
+                    .id((long) i + 1)
+                    .title("Benchmark Book " + i)
+                    .author("Author " + (i % 500))
+                    .category("Category " + (i % 20))
+                    .isbn("978-" + (1_000_000_000L + i))
+                    .originalPrice(price)
+                    .displayPrice(price.multiply(new BigDecimal("1.10")).setScale(2, java.math.RoundingMode.HALF_UP))
+                    .description("[FEATURED] Benchmark Book " + i + " by Author " + (i % 500))
+                    .featured(featured)
+                    .bestseller(bestseller)
+                    .build());
+        }
+        return responses;
+    }
+}
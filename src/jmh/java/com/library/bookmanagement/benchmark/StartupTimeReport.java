@@ -0,0 +1,118 @@
+package com.library.bookmanagement.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Time-to-first-request report for each startup mode
+ * Launches the application as a fresh JVM per run and measures from process start to the first
+ * successful GET /api/books/featured
+ * Requires the fast-startup build (target/classes with AOT output, target/lib, target/app-cds.jsa);
+ * modes whose artifacts are missing are skipped
+ * Usage: StartupTimeReport [runsPerMode]
+ */
+public final class StartupTimeReport {
+
+    private static final Path TARGET = Path.of("target");
+    private static final String MAIN_CLASS = "com.library.bookmanagement.BookManagementApplication";
+    private static final Path AOT_INITIALIZER =
+            TARGET.resolve("classes/com/library/bookmanagement/BookManagementApplication__ApplicationContextInitializer.class");
+    private static final Path CDS_ARCHIVE = TARGET.resolve("app-cds.jsa");
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    private StartupTimeReport() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        List<Mode> modes = List.of(
+                new Mode("default", List.of(), "default", null),
+                new Mode("fast-startup", List.of(), "fast-startup", null),
+                new Mode("fast-startup+aot", List.of("-Dspring.aot.enabled=true"), "fast-startup", AOT_INITIALIZER),
+                new Mode("fast-startup+aot+cds",
+                        List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + CDS_ARCHIVE),
+                        "fast-startup", CDS_ARCHIVE));
+
+        List<String> report = new ArrayList<>();
+        for (Mode mode : modes) {
+            if (mode.requires() != null && !Files.exists(mode.requires())) {
+                report.add(String.format("%-22s skipped, %s not found (build with -Pfast-startup)", mode.name(), mode.requires()));
+                continue;
+            }
+            List<Long> millis = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                millis.add(timeToFirstRequest(mode));
+            }
+            Collections.sort(millis);
+            report.add(String.format("%-22s %6d %10d %10d %10d",
+                    mode.name(), runs, millis.get(0), millis.get(millis.size() / 2), millis.get(millis.size() - 1)));
+        }
+
+        System.out.println();
+        System.out.printf("%-22s %6s %10s %10s %10s%n", "mode", "runs", "min ms", "median ms", "max ms");
+        report.forEach(System.out::println);
+    }
+
+    private static long timeToFirstRequest(Mode mode) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(mode.jvmArgs());
+        command.add("-classpath");
+        command.add(TARGET.resolve("classes") + File.pathSeparator + TARGET.resolve("lib") + File.separator + "*");
+        command.add(MAIN_CLASS);
+        command.add("--server.port=" + port);
+        command.add("--spring.profiles.active=" + mode.profile());
+        command.add("--logging.level.root=WARN");
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/books/featured")).build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name() + " exited with status " + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (ConnectException ignored) {
+                    // Not listening yet
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException(mode.name() + " did not answer within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Mode(String name, List<String> jvmArgs, String profile, Path requires) {
+    }
+}
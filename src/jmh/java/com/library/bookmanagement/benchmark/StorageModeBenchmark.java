@@ -0,0 +1,93 @@
+package com.library.bookmanagement.benchmark;
+
+import com.library.bookmanagement.model.Book;
+import com.library.bookmanagement.model.BookView;
+import com.library.bookmanagement.service.BookImportService;
+import com.library.bookmanagement.service.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read and write throughput of the in-memory database against the durable file-backed profile
+ * The durable context gets a fresh data directory per trial so every run starts from an empty file
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+public class StorageModeBenchmark {
+
+    private static final int CATALOG_SIZE = 10_000;
+
+    @Param({"memory", "file"})
+    public String storage;
+
+    private final AtomicLong isbnSequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private Path dataDirectory;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if ("file".equals(storage)) {
+            dataDirectory = Files.createTempDirectory("library-bench");
+            context = BenchmarkContexts.start(
+                    "spring.profiles.active=durable",
+                    "library.data-dir=" + dataDirectory,
+                    "library.seed.enabled=false");
+        } else {
+            context = BenchmarkContexts.start("library.seed.enabled=false");
+        }
+        bookService = context.getBean(BookService.class);
+        FinderBenchmark.seed(context.getBean(BookImportService.class), CATALOG_SIZE);
+        firstId = bookService.getBooksAfter(0L, 1).get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        if (dataDirectory != null) {
+            FileSystemUtils.deleteRecursively(dataDirectory);
+        }
+    }
+
+    @Benchmark
+    public Optional<Book> readById() {
+        return bookService.getBookById(firstId + ThreadLocalRandom.current().nextInt(CATALOG_SIZE));
+    }
+
+    @Benchmark
+    public List<BookView> readByCategory() {
+        return bookService.findByCategory("Category " + ThreadLocalRandom.current().nextInt(20));
+    }
+
+    @Benchmark
+    public Book write() {
+        long n = isbnSequence.incrementAndGet();
+        return bookService.addBook(Book.builder()
+                .title("Benchmark Book " + n)
+                .author("Benchmark Author")
+                .category("Benchmark")
+                .isbn("bench-storage-" + n)
+                .price(new BigDecimal("19.99"))
+                .featured(n % 2 == 0)
+                .bestseller(n % 3 == 0)
+                .build());
+    }
+}
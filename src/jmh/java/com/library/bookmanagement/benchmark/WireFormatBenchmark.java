@@ -0,0 +1,96 @@
+package com.library.bookmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.library.bookmanagement.config.ColumnarBookListHttpMessageConverter;
+import com.library.bookmanagement.dto.BookResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization CPU per 10k books for each negotiable wire format, with and without gzip
+ * The bytes on the wire of every format are printed once per trial
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class WireFormatBenchmark {
+
+    private static final int BOOKS = 10_000;
+
+    @Param({"json", "smile", "cbor", "columnar"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private Encoder encoder;
+    private List<BookResponse> books;
+    private ByteArrayOutputStream buffer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        books = SerializationBenchmark.sampleResponses(BOOKS);
+        Instant now = Instant.now();
+        books.forEach(book -> {
+            book.setVersion(0L);
+            book.setUpdatedAt(now);
+        });
+        encoder = encoder(format);
+        buffer = new ByteArrayOutputStream(4 * 1024 * 1024);
+
+        long raw = encode(false);
+        long compressed = encode(true);
+        System.out.printf("%n%s: %d bytes, %d bytes gzipped (%d books)%n", format, raw, compressed, BOOKS);
+    }
+
+    @Benchmark
+    public long serialize() throws IOException {
+        return encode(gzip);
+    }
+
+    private long encode(boolean compress) throws IOException {
+        buffer.reset();
+        if (compress) {
+            try (GZIPOutputStream out = new GZIPOutputStream(buffer, 64 * 1024)) {
+                encoder.write(books, out);
+            }
+        } else {
+            encoder.write(books, buffer);
+        }
+        return buffer.size();
+    }
+
+    private static Encoder encoder(String format) {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        return switch (format) {
+            case "json" -> jackson(json);
+            case "smile" -> jackson(Jackson2ObjectMapperBuilder.smile().build());
+            case "cbor" -> jackson(Jackson2ObjectMapperBuilder.cbor().build());
+            case "columnar" -> new ColumnarBookListHttpMessageConverter(json)::write;
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+    }
+
+    private static Encoder jackson(ObjectMapper objectMapper) {
+        ObjectWriter writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, BookResponse.class));
+        return (books, out) -> writer.writeValue(out, books);
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+        void write(List<BookResponse> books, OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,71 @@
+package com.library.bookmanagement.facade;
+
+import com.library.bookmanagement.benchmark.BenchmarkContexts;
+import com.library.bookmanagement.decorator.BookComponent;
+import com.library.bookmanagement.decorator.BookDecorations;
+import com.library.bookmanagement.dto.BookResponse;
+import com.library.bookmanagement.model.Book;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of LibraryFacade.convertToResponse for each featured/bestseller combination,
+ * with display values materialized on the row or decorated on the fly, and with the conversion meters on and off
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConvertToResponseBenchmark {
+
+    @Param({"false", "true"})
+    public boolean featured;
+
+    @Param({"false", "true"})
+    public boolean bestseller;
+
+    @Param({"false", "true"})
+    public boolean materialized;
+
+    @Param({"false", "true"})
+    public boolean metricsEnabled;
+
+    private LibraryFacade libraryFacade;
+    private Book book;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkContexts.quietLogging();
+        libraryFacade = new LibraryFacade(null, null, null, null, null, null, null, null, null, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(libraryFacade, "conversionMetrics", metricsEnabled);
+        libraryFacade.registerMeters();
+        ReflectionTestUtils.setField(libraryFacade, "materializedDecorations", materialized);
+
+        book = Book.builder()
+                .id(1L)
+                .title("Clean Code")
+                .author("Robert C. Martin")
+                .category("Programming")
+                .isbn("978-0132350884")
+                .price(new BigDecimal("45.99"))
+                .featured(featured)
+                .bestseller(bestseller)
+                .build();
+        if (materialized) {
+            BookComponent decorated = BookDecorations.decorate(book);
+            book.setDisplayPrice(decorated.getPrice());
+            book.setDescription(decorated.getDescription());
+        }
+    }
+
+    @Benchmark
+    public BookResponse convertToResponse() {
+        return libraryFacade.convertToResponse(book);
+    }
+}
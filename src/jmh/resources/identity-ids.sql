@@ -0,0 +1,2 @@
+-- The bulk import still draws ID blocks from the sequence; start it far above the IDENTITY values
+CREATE SEQUENCE books_seq START WITH 1000000001 INCREMENT BY 50;
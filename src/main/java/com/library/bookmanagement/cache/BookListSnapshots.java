@@ -0,0 +1,127 @@
+package com.library.bookmanagement.cache;
+
+import com.library.bookmanagement.dto.BookResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Pre-decorated featured and bestseller lists held as immutable copy-on-write snapshots
+ * Reads fetch the current list reference; writers apply the changes of one committed transaction together by
+ * publishing a new list, so a reader never sees a partially applied change and a bulk import copies each list once
+ * Both lists are ordered by book ID
+ */
+@Slf4j
+@Component
+public class BookListSnapshots {
+
+    private static final Comparator<BookResponse> BY_ID = Comparator.comparing(BookResponse::getId);
+
+    private volatile List<BookResponse> featured;
+    private volatile List<BookResponse> bestsellers;
+
+    /**
+     * Get the featured list
+     * @return the immutable featured list, null until the snapshots are loaded
+     */
+    public List<BookResponse> featured() {
+        return featured;
+    }
+
+    /**
+     * Get the bestseller list
+     * @return the immutable bestseller list, null until the snapshots are loaded
+     */
+    public List<BookResponse> bestsellers() {
+        return bestsellers;
+    }
+
+    /**
+     * Load both lists from the catalog
+     * Changes arriving while loading wait for the load and are applied on top of it
+     * @param featuredLoader loads the featured books
+     * @param bestsellerLoader loads the bestseller books
+     */
+    public synchronized void load(Supplier<List<BookResponse>> featuredLoader,
+                                  Supplier<List<BookResponse>> bestsellerLoader) {
+        featured = sortedCopy(featuredLoader.get());
+        bestsellers = sortedCopy(bestsellerLoader.get());
+        log.info("Book list snapshots loaded - featured: {}, bestsellers: {}", featured.size(), bestsellers.size());
+    }
+
+    /**
+     * Apply the committed changes of one transaction to both lists
+     * Ignored before the snapshots are loaded, the load reads the committed changes itself
+     * @param changes the books after the change by ID, a null value if the book was deleted
+     */
+    public synchronized void apply(Map<Long, BookResponse> changes) {
+        if (featured == null || changes.isEmpty()) {
+            return;
+        }
+        featured = merge(featured, changes, BookResponse::getFeatured);
+        bestsellers = merge(bestsellers, changes, BookResponse::getBestseller);
+    }
+
+    /**
+     * Copy a list with the changed books replaced, added or removed depending on whether they still belong to it
+     * An entry at the same or a later version than its change is kept, so a transaction committing after a newer
+     * one cannot put back an older state
+     * @param list the current list
+     * @param changes the books after the change by ID, a null value if the book was deleted
+     * @param member whether a book belongs to the list
+     * @return the new list, or the current one if none of the changed books was or is in it
+     */
+    private static List<BookResponse> merge(List<BookResponse> list, Map<Long, BookResponse> changes,
+                                            Predicate<BookResponse> member) {
+        List<BookResponse> copy = new ArrayList<>(list.size() + changes.size());
+        Set<Long> kept = new HashSet<>();
+        boolean changed = false;
+        for (BookResponse book : list) {
+            if (!changes.containsKey(book.getId())) {
+                copy.add(book);
+            } else if (isCurrent(book, changes.get(book.getId()))) {
+                copy.add(book);
+                kept.add(book.getId());
+            } else {
+                changed = true;
+            }
+        }
+        for (BookResponse after : changes.values()) {
+            if (after != null && member.test(after) && !kept.contains(after.getId())) {
+                copy.add(after);
+                changed = true;
+            }
+        }
+        if (!changed) {
+            return list;
+        }
+        copy.sort(BY_ID);
+        return Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * Check whether a listed book is at least as recent as its change
+     * @param listed the book in the list
+     * @param after the book after the change, null if it was deleted
+     * @return true if the listed book must be kept
+     */
+    private static boolean isCurrent(BookResponse listed, BookResponse after) {
+        return after != null && listed.getVersion() != null && after.getVersion() != null
+                && listed.getVersion() >= after.getVersion();
+    }
+
+    private static List<BookResponse> sortedCopy(List<BookResponse> books) {
+        List<BookResponse> copy = new ArrayList<>(books);
+        copy.sort(BY_ID);
+        return Collections.unmodifiableList(copy);
+    }
+}
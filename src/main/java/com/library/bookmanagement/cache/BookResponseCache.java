@@ -0,0 +1,96 @@
+package com.library.bookmanagement.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.library.bookmanagement.dto.BookResponse;
+import com.library.bookmanagement.event.BookChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of decorated BookResponse projections keyed by book ID
+ * Entries expire after a fixed TTL and are evicted once a change to the book has committed
+ */
+@Slf4j
+@Component
+public class BookResponseCache {
+
+    private final Cache<Long, BookResponse> cache;
+
+    public BookResponseCache(@Value("${library.cache.book-response.maximum-size:10000}") long maximumSize,
+                             @Value("${library.cache.book-response.ttl:10m}") Duration ttl,
+                             MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // Publishes hits, misses and evictions as cache.gets / cache.evictions with cache=bookResponses
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "bookResponses");
+        log.info("Book response cache initialized - maximum size: {}, ttl: {}", maximumSize, ttl);
+    }
+
+    /**
+     * Get a cached book response, loading it on a miss
+     * @param id the book ID
+     * @param loader function building the response when it is not cached
+     * @return the cached or freshly loaded book response
+     */
+    public BookResponse get(Long id, Function<Long, BookResponse> loader) {
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Get a cached book response without loading it
+     * @param id the book ID
+     * @return the cached response, or null if it is not cached
+     */
+    public BookResponse getIfPresent(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    /**
+     * Get the cached responses of the given books, without loading the missing ones
+     * @param ids the book IDs
+     * @return the cached responses by ID
+     */
+    public Map<Long, BookResponse> getAllPresent(Iterable<Long> ids) {
+        return cache.getAllPresent(ids);
+    }
+
+    /**
+     * Remove a book response from the cache
+     * @param id the book ID
+     */
+    public void evict(Long id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Get the hit, miss and eviction counters of the cache
+     * @return snapshot of the cache statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Evict the changed book once its transaction has committed
+     * @param event the book change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        log.debug("Evicting cached book response for ID: {}", event.getBookId());
+        evict(event.getBookId());
+    }
+}
@@ -0,0 +1,50 @@
+package com.library.bookmanagement.cache;
+
+import com.library.bookmanagement.dto.BookStatsResponse;
+import com.library.bookmanagement.event.BookChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cached catalog statistics, invalidated by every committed book change
+ * Each entry remembers the generation it was computed in, so statistics computed while a change
+ * committed are never served after it
+ */
+@Component
+public class BookStatsCache {
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Entry entry;
+
+    /**
+     * Get the cached statistics, computing them when a change has committed since
+     * @param loader computes the statistics
+     * @return the current statistics
+     */
+    public BookStatsResponse get(Supplier<BookStatsResponse> loader) {
+        long current = generation.get();
+        Entry cached = entry;
+        if (cached != null && cached.generation() == current) {
+            return cached.stats();
+        }
+        BookStatsResponse stats = loader.get();
+        entry = new Entry(current, stats);
+        return stats;
+    }
+
+    /**
+     * Invalidate the statistics once a book change has committed
+     * @param event the book change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    private record Entry(long generation, BookStatsResponse stats) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.library.bookmanagement.cache;
+
+import com.library.bookmanagement.event.BookChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Version counter of the whole catalog, used as the validator of collection reads
+ * Every committed book change bumps it, so an unchanged version means every collection is unchanged
+ * The ETag carries the start time of this instance, so counters restarting at zero never repeat an old ETag
+ */
+@Slf4j
+@Component
+public class CatalogVersion {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private long counter;
+    private volatile Snapshot current = new Snapshot(epoch + "-0", now());
+
+    /**
+     * Bump the version once a book change has committed
+     * Runs after the other listeners have refreshed their read models
+     * @param event the book change event
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        bump();
+    }
+
+    /**
+     * Move the catalog to a new version
+     */
+    public synchronized void bump() {
+        current = new Snapshot(epoch + "-" + ++counter, now());
+    }
+
+    /**
+     * Get the current catalog version
+     * Read it before loading a collection, so the validator is never newer than the data it labels
+     * @return the current version
+     */
+    public Snapshot current() {
+        return current;
+    }
+
+    // Last-Modified has a resolution of one second
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    /**
+     * Immutable view of one catalog version
+     * @param eTag the strong ETag value, without quotes
+     * @param lastModified when the catalog last changed
+     */
+    public record Snapshot(String eTag, Instant lastModified) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.library.bookmanagement.config;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.bookmanagement.dto.BookResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Writes List&lt;BookResponse&gt; as columnar JSON: the field names once, then one array of values per book
+ * Selected with Accept: application/x-columnar-json; other types and media types are left to Jackson
+ */
+public class ColumnarBookListHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<BookResponse>> {
+
+    public static final String APPLICATION_COLUMNAR_JSON_VALUE = "application/x-columnar-json";
+    public static final MediaType APPLICATION_COLUMNAR_JSON = MediaType.parseMediaType(APPLICATION_COLUMNAR_JSON_VALUE);
+
+    private static final List<String> COLUMNS = List.of("id", "title", "author", "category", "isbn",
+            "originalPrice", "displayPrice", "description", "featured", "bestseller", "version", "updatedAt");
+
+    private final ObjectMapper objectMapper;
+
+    public ColumnarBookListHttpMessageConverter(ObjectMapper objectMapper) {
+        super(APPLICATION_COLUMNAR_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && List.class.isAssignableFrom(raw)
+                && parameterized.getActualTypeArguments()[0] == BookResponse.class
+                && canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(List<BookResponse> books, Type type, HttpOutputMessage outputMessage) throws IOException {
+        write(books, outputMessage.getBody());
+    }
+
+    /**
+     * Write books in the columnar layout
+     * @param books the books to write
+     * @param out the stream to write to, left open
+     * @throws IOException if writing fails
+     */
+    public void write(List<BookResponse> books, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("columns");
+            for (String column : COLUMNS) {
+                generator.writeString(column);
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("rows");
+            for (BookResponse book : books) {
+                generator.writeStartArray();
+                writeNumber(generator, book.getId());
+                generator.writeString(book.getTitle());
+                generator.writeString(book.getAuthor());
+                generator.writeString(book.getCategory());
+                generator.writeString(book.getIsbn());
+                writeNumber(generator, book.getOriginalPrice());
+                writeNumber(generator, book.getDisplayPrice());
+                generator.writeString(book.getDescription());
+                writeBoolean(generator, book.getFeatured());
+                writeBoolean(generator, book.getBestseller());
+                writeNumber(generator, book.getVersion());
+                writeInstant(generator, book.getUpdatedAt());
+                generator.writeEndArray();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    @Override
+    protected List<BookResponse> readInternal(Class<? extends List<BookResponse>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Columnar JSON is a response format only", inputMessage);
+    }
+
+    @Override
+    public List<BookResponse> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Columnar JSON is a response format only", inputMessage);
+    }
+
+    private static void writeNumber(JsonGenerator generator, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator generator, BigDecimal value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeBoolean(JsonGenerator generator, Boolean value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeBoolean(value);
+        }
+    }
+
+    private static void writeInstant(JsonGenerator generator, Instant value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+}
@@ -1,133 +1,87 @@
 package com.library.bookmanagement.config;
 
-import com.library.bookmanagement.model.Book;
-import com.library.bookmanagement.repository.BookRepository;
+import com.library.bookmanagement.dto.BookImportResult;
+import com.library.bookmanagement.service.BookImportService;
+import com.library.bookmanagement.service.BookService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-import java.util.Arrays;
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
 
 /**
  * Data Loader to populate sample data on application startup
+ * Seeds from a JSON, NDJSON or CSV resource through the bulk import path, so the file is streamed
+ * and inserted in batched chunks regardless of its size
+ * With a durable database the seed can be limited to an empty catalog
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class DataLoader implements CommandLineRunner {
 
-    private final BookRepository bookRepository;
+    private final BookImportService bookImportService;
+    private final BookService bookService;
+    private final ResourceLoader resourceLoader;
 
-    @Override
-    public void run(String... args) {
-        log.info("Loading sample book data...");
-
-        List<Book> sampleBooks = Arrays.asList(
-                Book.builder()
-                        .title("Clean Code")
-                        .author("Robert C. Martin")
-                        .category("Programming")
-                        .isbn("978-0132350884")
-                        .price(new BigDecimal("45.99"))
-                        .featured(true)
-                        .bestseller(true)
-                        .build(),
-
-                Book.builder()
-                        .title("Design Patterns")
-                        .author("Erich Gamma")
-                        .category("Programming")
-                        .isbn("978-0201633612")
-                        .price(new BigDecimal("54.99"))
-                        .featured(true)
-                        .bestseller(false)
-                        .build(),
-
-                Book.builder()
-                        .title("The Pragmatic Programmer")
-                        .author("Andrew Hunt")
-                        .category("Programming")
-                        .isbn("978-0135957059")
-                        .price(new BigDecimal("42.99"))
-                        .featured(false)
-                        .bestseller(true)
-                        .build(),
-
-                Book.builder()
-                        .title("Effective Java")
-                        .author("Joshua Bloch")
-                        .category("Programming")
-                        .isbn("978-0134685991")
-                        .price(new BigDecimal("48.99"))
-                        .featured(true)
-                        .bestseller(true)
-                        .build(),
+    @Value("${library.seed.enabled:true}")
+    private boolean enabled;
 
-                Book.builder()
-                        .title("Head First Design Patterns")
-                        .author("Eric Freeman")
-                        .category("Programming")
-                        .isbn("978-0596007126")
-                        .price(new BigDecimal("39.99"))
-                        .featured(false)
-                        .bestseller(false)
-                        .build(),
+    @Value("${library.seed.location:classpath:data/sample-books.ndjson}")
+    private String location;
 
-                Book.builder()
-                        .title("Spring Boot in Action")
-                        .author("Craig Walls")
-                        .category("Programming")
-                        .isbn("978-1617292545")
-                        .price(new BigDecimal("44.99"))
-                        .featured(true)
-                        .bestseller(false)
-                        .build(),
+    @Value("${library.seed.only-if-empty:false}")
+    private boolean onlyIfEmpty;
 
-                Book.builder()
-                        .title("1984")
-                        .author("George Orwell")
-                        .category("Fiction")
-                        .isbn("978-0451524935")
-                        .price(new BigDecimal("15.99"))
-                        .featured(false)
-                        .bestseller(true)
-                        .build(),
-
-                Book.builder()
-                        .title("To Kill a Mockingbird")
-                        .author("Harper Lee")
-                        .category("Fiction")
-                        .isbn("978-0061120084")
-                        .price(new BigDecimal("18.99"))
-                        .featured(true)
-                        .bestseller(true)
-                        .build(),
-
-                Book.builder()
-                        .title("The Great Gatsby")
-                        .author("F. Scott Fitzgerald")
-                        .category("Fiction")
-                        .isbn("978-0743273565")
-                        .price(new BigDecimal("14.99"))
-                        .featured(false)
-                        .bestseller(false)
-                        .build(),
-
-                Book.builder()
-                        .title("Sapiens")
-                        .author("Yuval Noah Harari")
-                        .category("History")
-                        .isbn("978-0062316097")
-                        .price(new BigDecimal("24.99"))
-                        .featured(true)
-                        .bestseller(true)
-                        .build()
-        );
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            log.info("Sample data loading disabled");
+            return;
+        }
+        if (onlyIfEmpty) {
+            long existing = bookService.countBooks();
+            if (existing > 0) {
+                log.info("Catalog already holds {} books, skipping sample data", existing);
+                return;
+            }
+        }
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.exists()) {
+            log.warn("Sample data not found: {}", location);
+            return;
+        }
+
+        log.info("Loading sample book data from {}...", location);
+        try (InputStream inputStream = resource.getInputStream()) {
+            BookImportResult result = bookImportService.importBooks(inputStream, formatOf(location));
+            log.info("Sample data loaded - imported: {}, failed: {}, duration: {} ms",
+                    result.getImported(), result.getFailed(), result.getDurationMillis());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read sample data from " + location, ex);
+        }
+    }
 
-        bookRepository.saveAll(sampleBooks);
-        log.info("Sample data loaded successfully. Total books: {}", sampleBooks.size());
+    /**
+     * Derive the import format from the file extension, NDJSON unless .json or .csv
+     * @param location the resource location
+     * @return the import format
+     */
+    private static BookImportService.Format formatOf(String location) {
+        String name = location.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return BookImportService.Format.CSV;
+        }
+        if (name.endsWith(".json")) {
+            return BookImportService.Format.JSON;
+        }
+        return BookImportService.Format.NDJSON;
     }
 }
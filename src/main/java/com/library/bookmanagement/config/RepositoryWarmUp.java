@@ -0,0 +1,98 @@
+package com.library.bookmanagement.config;
+
+import com.library.bookmanagement.repository.BookRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Runs the bounded BookRepository finders once on each pooled connection before the application takes traffic
+ * Hibernate caches the translated queries and H2 keeps the parsed statements per connection
+ * (QUERY_CACHE_SIZE), so the first requests do not pay for query planning
+ * Each round runs in a nested REQUIRES_NEW transaction, which keeps the outer connections checked out
+ * and forces the pool to hand out a different connection every time; one connection is always left free
+ * Runs once all singletons are created, before the web server is started
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RepositoryWarmUp implements SmartInitializingSingleton {
+
+    private final BookRepository bookRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final DataSource dataSource;
+
+    @Value("${library.warm-up.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * Warm up the finders once the repositories are ready, before the web server accepts requests
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        int connections = connectionCount();
+        long start = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.setReadOnly(true);
+        warmUp(transaction, connections);
+        log.info("Warmed up repository finders on {} connections in {} ms",
+                connections, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Run the finders, then recurse while still holding the current connection
+     * @param transaction the REQUIRES_NEW read-only template
+     * @param remaining the number of connections still to warm up
+     */
+    private void warmUp(TransactionTemplate transaction, int remaining) {
+        transaction.executeWithoutResult(status -> {
+            runFinders();
+            if (remaining > 1) {
+                warmUp(transaction, remaining - 1);
+            }
+        });
+    }
+
+    /**
+     * Execute each finder with placeholder arguments that match no book, results are discarded
+     * List finders without a selective argument are left out, they would read the whole catalog
+     */
+    private void runFinders() {
+        bookRepository.count();
+        bookRepository.findById(0L);
+        bookRepository.findAllById(List.of(0L));
+        bookRepository.findByIsbn("");
+        bookRepository.findByCategory("");
+        bookRepository.findByAuthor("");
+        bookRepository.findViewsByCategory("");
+        bookRepository.findViewsByAuthor("");
+        bookRepository.findByIdGreaterThanOrderByIdAsc(Long.MAX_VALUE, Limit.of(1));
+        bookRepository.findExistingIsbns(List.of(""));
+    }
+
+    /**
+     * Number of connections to warm up, the pool's minimum idle size when pooled by Hikari,
+     * less one so the pool is never drained
+     * @return the connection count
+     */
+    private int connectionCount() {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return Math.max(1, Math.min(hikari.getMinimumIdle(), hikari.getMaximumPoolSize() - 1));
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,76 @@
+package com.library.bookmanagement.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs one line per request for a random sample of requests, plus every slow or failed one
+ * Replaces the per-layer INFO logging in production, where logging every call costs more than serving it
+ * Async requests (long-polls, SSE and streamed bodies) are timed from the initial dispatch and logged once,
+ * on the dispatch that completes them
+ */
+@Slf4j(topic = "library.requests")
+@Component
+@ConditionalOnProperty(name = "library.logging.requests.enabled", havingValue = "true")
+public class SampledRequestLoggingFilter extends OncePerRequestFilter {
+
+    private static final String START_ATTRIBUTE = SampledRequestLoggingFilter.class.getName() + ".START";
+
+    @Value("${library.logging.requests.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${library.logging.requests.slow-threshold:500ms}")
+    private Duration slowThreshold;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!log.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Long start = (Long) request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            start = System.nanoTime();
+            request.setAttribute(START_ATTRIBUTE, start);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                logRequest(request, response, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Log a completed request if it failed, was slow or is sampled
+     * @param request the request
+     * @param response the response with its final status
+     * @param elapsedNanos the time since the initial dispatch
+     */
+    private void logRequest(HttpServletRequest request, HttpServletResponse response, long elapsedNanos) {
+        int status = response.getStatus();
+        if (status >= 500 || elapsedNanos >= slowThreshold.toNanos()
+                || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("{} {} -> {} in {} ms", request.getMethod(), request.getRequestURI(), status,
+                    elapsedNanos / 1_000_000);
+        }
+    }
+}
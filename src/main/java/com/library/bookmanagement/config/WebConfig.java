@@ -0,0 +1,27 @@
+package com.library.bookmanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Web MVC Configuration
+ * JSON stays the default response format; CBOR and Smile are negotiated by Spring MVC's own
+ * converters when their Jackson modules are present, and the columnar book list format is added here
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Appended last so it is only picked when explicitly accepted
+        converters.add(new ColumnarBookListHttpMessageConverter(objectMapper));
+    }
+}
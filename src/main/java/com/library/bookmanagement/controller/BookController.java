@@ -1,18 +1,49 @@
 package com.library.bookmanagement.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.library.bookmanagement.cache.CatalogVersion;
+import com.library.bookmanagement.dto.BatchGetRequest;
+import com.library.bookmanagement.dto.BookBatchResponse;
+import com.library.bookmanagement.dto.BookChangeFeedResponse;
+import com.library.bookmanagement.dto.BookImportResult;
+import com.library.bookmanagement.dto.BookPageResponse;
 import com.library.bookmanagement.dto.BookResponse;
+import com.library.bookmanagement.dto.BookSearchCriteria;
+import com.library.bookmanagement.dto.BookStatsResponse;
+import com.library.bookmanagement.dto.BookWriteStatus;
 import com.library.bookmanagement.dto.CreateBookRequest;
+import com.library.bookmanagement.dto.UpdateBookRequest;
+import com.library.bookmanagement.exception.PreconditionFailedException;
 import com.library.bookmanagement.facade.LibraryFacade;
+import com.library.bookmanagement.model.BookVersion;
+import com.library.bookmanagement.service.BookImportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * REST Controller for Book Management
@@ -25,90 +56,346 @@ import java.util.List;
 @Tag(name = "Book Management", description = "APIs for managing books in the library")
 public class BookController {
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+
     private final LibraryFacade libraryFacade;
+    private final ObjectMapper objectMapper;
+
+    @Value("${library.http.cache.max-age:0s}")
+    private Duration cacheMaxAge;
 
     /**
      * Create a new book
+     * With write-behind enabled the book is queued and either returned once its batch commits (201)
+     * or acknowledged with a tracking ID (202)
      * @param request the book creation request
-     * @return the created book response
+     * @return the created book response, or the status of the queued write
      */
     @PostMapping
     @Operation(summary = "Add a new book", description = "Creates a new book in the library system")
-    public ResponseEntity<BookResponse> createBook(@Valid @RequestBody CreateBookRequest request) {
+    public ResponseEntity<?> createBook(@Valid @RequestBody CreateBookRequest request) {
         log.info("REST: Creating new book - {}", request.getTitle());
+        if (libraryFacade.isWriteBehindEnabled()) {
+            BookWriteStatus status = libraryFacade.submitNewBook(request);
+            if (status.getState() == BookWriteStatus.State.COMMITTED) {
+                return ResponseEntity.status(HttpStatus.CREATED).body(status.getBook());
+            }
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/books/writes/" + status.getTrackingId()))
+                    .body(status);
+        }
         BookResponse response = libraryFacade.addNewBook(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     /**
-     * Get all books
-     * @return list of all books
+     * Get the status of a queued book creation
+     * @param trackingId the tracking ID returned with 202 Accepted
+     * @return the write status
+     */
+    @GetMapping("/writes/{trackingId}")
+    @Operation(summary = "Get queued write status", description = "Retrieves the status of a book creation accepted by the write-behind queue")
+    public ResponseEntity<BookWriteStatus> getWriteStatus(@PathVariable String trackingId) {
+        log.info("REST: Getting write status - {}", trackingId);
+        return ResponseEntity.ok(libraryFacade.getWriteStatus(trackingId));
+    }
+
+    /**
+     * Import books in bulk from a JSON array
+     * @param body the request body stream
+     * @return the import summary with per-row errors
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Bulk import books (JSON array)", description = "Imports books in chunked batches and reports rejected rows")
+    public ResponseEntity<BookImportResult> importBooksJson(InputStream body) throws IOException {
+        log.info("REST: Importing books from JSON array");
+        return ResponseEntity.ok(libraryFacade.importBooks(body, BookImportService.Format.JSON));
+    }
+
+    /**
+     * Import books in bulk from newline-delimited JSON
+     * @param body the request body stream
+     * @return the import summary with per-row errors
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "/bulk", consumes = APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Bulk import books (NDJSON)", description = "Imports books in chunked batches and reports rejected rows")
+    public ResponseEntity<BookImportResult> importBooksNdjson(InputStream body) throws IOException {
+        log.info("REST: Importing books from NDJSON");
+        return ResponseEntity.ok(libraryFacade.importBooks(body, BookImportService.Format.NDJSON));
+    }
+
+    /**
+     * Import books in bulk from CSV with a header line
+     * @param body the request body stream
+     * @return the import summary with per-row errors
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "/bulk", consumes = TEXT_CSV_VALUE)
+    @Operation(summary = "Bulk import books (CSV)", description = "Imports books in chunked batches and reports rejected rows")
+    public ResponseEntity<BookImportResult> importBooksCsv(InputStream body) throws IOException {
+        log.info("REST: Importing books from CSV");
+        return ResponseEntity.ok(libraryFacade.importBooks(body, BookImportService.Format.CSV));
+    }
+
+    /**
+     * Get all books, or search them when any criteria is given
+     * The whole catalog is streamed as a JSON array while it is read from the database,
+     * so heap use does not grow with the catalog size
+     * @param criteria optional filters, sort and page
+     * @param webRequest the request, for conditional GET handling
+     * @return JSON array of matching books, or 304 if the catalog has not changed
      */
     @GetMapping
-    @Operation(summary = "Get all books", description = "Retrieves all books from the library")
-    public ResponseEntity<List<BookResponse>> getAllBooks(
-            @RequestParam(required = false) String author,
-            @RequestParam(required = false) String category) {
-        log.info("REST: Getting all books - author: {}, category: {}", author, category);
-
-        List<BookResponse> response;
-        if (author != null || category != null) {
-            response = libraryFacade.searchBooks(author, category);
+    @Operation(summary = "Get all books", description = "Streams all books, or retrieves a page of books matching the given criteria")
+    public ResponseEntity<StreamingResponseBody> getAllBooks(@ParameterObject BookSearchCriteria criteria,
+                                                             ServletWebRequest webRequest) {
+        log.info("REST: Getting all books - criteria: {}", criteria);
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+        StreamingResponseBody body;
+        if (criteria.isSearch()) {
+            List<BookResponse> books = libraryFacade.searchBooks(criteria);
+            body = outputStream -> objectMapper.writeValue(outputStream, books);
         } else {
-            response = libraryFacade.getAllBooks();
+            body = outputStream -> writeAllBooks(objectMapper.writerFor(BookResponse.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .writeValuesAsArray(outputStream));
         }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Get several books by ID with one query per chunk of IDs
+     * @param request the book IDs
+     * @return the books in request order and the IDs without a book
+     */
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get books by IDs", description = "Retrieves up to the configured maximum of books in request order, reporting missing IDs")
+    public ResponseEntity<BookBatchResponse> batchGetBooks(@Valid @RequestBody BatchGetRequest request) {
+        log.info("REST: Batch getting {} books", request.getIds().size());
+        return ResponseEntity.ok(libraryFacade.getBooksByIds(request.getIds()));
+    }
+
+    /**
+     * Get several books by ID, given as a comma-separated query parameter
+     * @param ids the book IDs
+     * @return the books in request order and the IDs without a book
+     */
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get books by IDs (query)", description = "Same as POST /batch-get with the IDs in the ids parameter")
+    public ResponseEntity<BookBatchResponse> getBooksByIds(@RequestParam List<Long> ids) {
+        log.info("REST: Getting {} books by ID", ids.size());
+        return ResponseEntity.ok(libraryFacade.getBooksByIds(ids));
+    }
 
+    /**
+     * Full-text search over book titles and authors
+     * @param q the free-text query, each word matched as a prefix
+     * @param limit the maximum number of results
+     * @return list of matching books, best match first
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search books by text", description = "Ranked prefix search over titles and authors using an in-memory index")
+    public ResponseEntity<List<BookResponse>> searchBooksByText(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        log.info("REST: Text search - q: {}, limit: {}", q, limit);
+        List<BookResponse> response = libraryFacade.searchByText(q, limit);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get a keyset page of books
+     * @param cursor the continuation token returned with the previous page
+     * @param limit the maximum number of books in the page
+     * @return the page of books with the cursor of the next page
+     */
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of books", description = "Retrieves books ordered by ID using an opaque continuation cursor")
+    public ResponseEntity<BookPageResponse> getBookPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        log.info("REST: Getting book page - cursor: {}, limit: {}", cursor, limit);
+        BookPageResponse response = libraryFacade.getBookPage(cursor, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Stream all books as newline-delimited JSON
+     * @return the streamed response body
+     */
+    @GetMapping("/stream")
+    @Operation(summary = "Stream all books", description = "Streams all books as NDJSON while they are read from the database")
+    public ResponseEntity<StreamingResponseBody> streamAllBooks() {
+        log.info("REST: Streaming all books");
+        StreamingResponseBody body = outputStream -> writeAllBooks(objectMapper.writerFor(BookResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n")
+                .writeValues(outputStream));
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Get the catalog changes committed after a cursor, long-polling when there are none yet
+     * @param since the cursor of the last change the consumer has seen (0 for the start of the feed)
+     * @param limit the maximum number of changes
+     * @param wait seconds to wait for a change when there is none (0 answers immediately)
+     * @return the batch of changes, flagged with a gap if the consumer has to re-read the catalog
+     */
+    @GetMapping("/changes")
+    @Operation(summary = "Get catalog changes", description = "Returns changes committed after a cursor, long-polling up to the given wait")
+    public DeferredResult<BookChangeFeedResponse> getChanges(
+            @RequestParam(defaultValue = "0") String since,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Integer wait) {
+        log.info("REST: Getting changes - since: {}, limit: {}, wait: {}", since, limit, wait);
+        return libraryFacade.getChanges(since, limit, wait);
+    }
+
+    /**
+     * Stream the catalog changes committed after a cursor as server-sent events
+     * EventSource clients resume automatically through Last-Event-ID
+     * @param since the cursor of the last change the consumer has seen, ignored when Last-Event-ID is sent
+     * @param lastEventId the cursor of the last event received before a reconnect
+     * @return the event stream
+     */
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream catalog changes", description = "Server-sent events for every committed change, with gap events when changes were missed")
+    public SseEmitter streamChanges(
+            @RequestParam(defaultValue = "0") String since,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.info("REST: Streaming changes - since: {}, Last-Event-ID: {}", since, lastEventId);
+        return libraryFacade.streamChanges(lastEventId != null ? lastEventId : since);
+    }
+
     /**
      * Get a book by ID
      * @param id the book ID
-     * @return the book response
+     * @param webRequest the request, for conditional GET handling
+     * @return the book response, or 304 if the client's copy is current
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get book by ID", description = "Retrieves a specific book by its ID")
-    public ResponseEntity<BookResponse> getBookById(@PathVariable Long id) {
+    public ResponseEntity<BookResponse> getBookById(@PathVariable Long id, ServletWebRequest webRequest) {
         log.info("REST: Getting book by ID - {}", id);
+        setCacheControl(webRequest);
+        // Revalidations are checked against the version alone, before the book is loaded and converted
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            BookVersion version = libraryFacade.getBookVersion(id);
+            long lastModified = version.updatedAt() != null ? version.updatedAt().toEpochMilli() : -1;
+            if (webRequest.checkNotModified(eTag(version.version()), lastModified)) {
+                return null;
+            }
+        }
         BookResponse response = libraryFacade.getBookById(id);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok().eTag(eTag(response.getVersion()));
+        if (response.getUpdatedAt() != null) {
+            ok.lastModified(response.getUpdatedAt());
+        }
+        return ok.body(response);
+    }
+
+    /**
+     * Get a book by ISBN
+     * @param isbn the book ISBN
+     * @return the book response
+     */
+    @GetMapping("/isbn/{isbn}")
+    @Operation(summary = "Get book by ISBN", description = "Retrieves a specific book by its ISBN")
+    public ResponseEntity<BookResponse> getBookByIsbn(@PathVariable String isbn) {
+        log.info("REST: Getting book by ISBN - {}", isbn);
+        BookResponse response = libraryFacade.getBookByIsbn(isbn);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get catalog statistics
+     * @param webRequest the request, for conditional GET handling
+     * @return counts and price statistics overall, per category and per author, or 304 if the catalog has not changed
+     */
+    @GetMapping("/stats")
+    @Operation(summary = "Get catalog statistics", description = "Counts and original/display price statistics, computed in the database")
+    public ResponseEntity<BookStatsResponse> getStats(ServletWebRequest webRequest) {
+        log.info("REST: Getting catalog statistics");
+        return catalogRead(webRequest, libraryFacade::getStats);
+    }
+
     /**
      * Get books by category
      * @param category the category name
-     * @return list of books in the category
+     * @param webRequest the request, for conditional GET handling
+     * @return list of books in the category, or 304 if the catalog has not changed
      */
     @GetMapping("/category/{category}")
     @Operation(summary = "Get books by category", description = "Retrieves all books in a specific category")
-    public ResponseEntity<List<BookResponse>> getBooksByCategory(@PathVariable String category) {
+    public ResponseEntity<List<BookResponse>> getBooksByCategory(@PathVariable String category,
+                                                                 ServletWebRequest webRequest) {
         log.info("REST: Getting books by category - {}", category);
-        List<BookResponse> response = libraryFacade.findBooksByCategory(category);
-        return ResponseEntity.ok(response);
+        return catalogRead(webRequest, () -> libraryFacade.findBooksByCategory(category));
     }
 
     /**
      * Get all featured books
-     * @return list of featured books
+     * @param webRequest the request, for conditional GET handling
+     * @return list of featured books, or 304 if the catalog has not changed
      */
     @GetMapping("/featured")
     @Operation(summary = "Get featured books", description = "Retrieves all featured books")
-    public ResponseEntity<List<BookResponse>> getFeaturedBooks() {
+    public ResponseEntity<List<BookResponse>> getFeaturedBooks(ServletWebRequest webRequest) {
         log.info("REST: Getting featured books");
-        List<BookResponse> response = libraryFacade.getFeaturedBooks();
-        return ResponseEntity.ok(response);
+        return catalogRead(webRequest, libraryFacade::getFeaturedBooks);
     }
 
     /**
      * Get all bestseller books
-     * @return list of bestseller books
+     * @param webRequest the request, for conditional GET handling
+     * @return list of bestseller books, or 304 if the catalog has not changed
      */
     @GetMapping("/bestsellers")
     @Operation(summary = "Get bestseller books", description = "Retrieves all bestseller books")
-    public ResponseEntity<List<BookResponse>> getBestsellers() {
+    public ResponseEntity<List<BookResponse>> getBestsellers(ServletWebRequest webRequest) {
         log.info("REST: Getting bestseller books");
-        List<BookResponse> response = libraryFacade.getBestsellers();
-        return ResponseEntity.ok(response);
+        return catalogRead(webRequest, libraryFacade::getBestsellers);
+    }
+
+    /**
+     * Update the supplied fields of a book
+     * With If-Match the update is a single conditional UPDATE without reading the book, answered with
+     * 204 and the new ETag, or 412 if the book has changed since
+     * @param id the book ID
+     * @param ifMatch the ETag of the version the client last read, optional
+     * @param request the fields to change
+     * @return the updated book, or no content with the new ETag for conditional updates
+     */
+    @PatchMapping("/{id}")
+    @Operation(summary = "Update a book", description = "Updates the supplied fields of a book, conditionally with If-Match")
+    public ResponseEntity<BookResponse> patchBook(@PathVariable Long id,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                  @Valid @RequestBody UpdateBookRequest request) {
+        log.info("REST: Updating book with ID - {}", id);
+        return update(id, ifMatch, request);
+    }
+
+    /**
+     * Replace all fields of a book
+     * @param id the book ID
+     * @param ifMatch the ETag of the version the client last read, optional
+     * @param request the complete book details
+     * @return the updated book, or no content with the new ETag for conditional updates
+     */
+    @PutMapping("/{id}")
+    @Operation(summary = "Replace a book", description = "Replaces every field of a book, conditionally with If-Match")
+    public ResponseEntity<BookResponse> replaceBook(@PathVariable Long id,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                    @Valid @RequestBody CreateBookRequest request) {
+        log.info("REST: Replacing book with ID - {}", id);
+        return update(id, ifMatch, libraryFacade.toFullUpdate(request));
     }
 
     /**
@@ -123,4 +410,94 @@ public class BookController {
         libraryFacade.deleteBook(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Answer a collection read with 304 when the client's validators match the current catalog version
+     * The version is read before the body is loaded, and the body is only loaded when it has to be sent
+     * @param webRequest the request carrying If-None-Match / If-Modified-Since
+     * @param body loads the collection
+     * @return the collection, or null once a 304 has been set on the response
+     */
+    private <T> ResponseEntity<T> catalogRead(ServletWebRequest webRequest, Supplier<T> body) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+        return ResponseEntity.ok(body.get());
+    }
+
+    /**
+     * Set the caching headers of a collection read and check the client's validators against the catalog version
+     * @param webRequest the request
+     * @return true if the client's copy is current and 304 has been set
+     */
+    private boolean isNotModified(ServletWebRequest webRequest) {
+        CatalogVersion.Snapshot version = libraryFacade.getCatalogVersion();
+        setCacheControl(webRequest);
+        return webRequest.checkNotModified(version.eTag(), version.lastModified().toEpochMilli());
+    }
+
+    /**
+     * Write every book to a sequence writer while the books are read from the database
+     * @param writer the writer, closed once all books are written
+     * @throws IOException if the response cannot be written
+     */
+    private void writeAllBooks(SequenceWriter writer) throws IOException {
+        try (writer) {
+            libraryFacade.streamAllBooks(response -> {
+                try {
+                    writer.write(response);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+
+    private void setCacheControl(ServletWebRequest webRequest) {
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.maxAge(cacheMaxAge).cachePublic().mustRevalidate().getHeaderValue());
+    }
+
+    /**
+     * Apply an update, conditionally when the client sent a version ETag
+     * @param id the book ID
+     * @param ifMatch the If-Match header value, null or * for unconditional updates
+     * @param request the fields to change
+     * @return the updated book, or no content with the new ETag for conditional updates
+     */
+    private ResponseEntity<BookResponse> update(Long id, String ifMatch, UpdateBookRequest request) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            BookResponse response = libraryFacade.updateBook(id, request);
+            return ResponseEntity.ok().eTag(eTag(response.getVersion())).body(response);
+        }
+        long version = libraryFacade.updateBook(id, parseVersion(ifMatch), request);
+        return ResponseEntity.noContent().eTag(eTag(version)).build();
+    }
+
+    /**
+     * Format a book version as a strong ETag
+     * @param version the book version
+     * @return the quoted ETag
+     */
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Read the book version from a single strong If-Match ETag
+     * @param ifMatch the If-Match header value
+     * @return the version
+     * @throws PreconditionFailedException if the header is not a single strong version ETag
+     */
+    private static long parseVersion(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // Falls through to the precondition failure below
+            }
+        }
+        throw new PreconditionFailedException("If-Match must be a single strong ETag of the book: " + ifMatch);
+    }
 }
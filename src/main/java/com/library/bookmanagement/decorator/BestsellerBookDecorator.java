@@ -12,16 +12,19 @@ import java.math.RoundingMode;
 @Slf4j
 public class BestsellerBookDecorator extends BookDecorator {
 
-    private static final BigDecimal PRICE_MULTIPLIER = new BigDecimal("1.05");
+    static final BigDecimal PRICE_MULTIPLIER = new BigDecimal("1.05");
+    static final String BADGE = "[BESTSELLER] ";
 
     public BestsellerBookDecorator(BookComponent decoratedBook) {
         super(decoratedBook);
-        log.debug("Decorating book with Bestseller badge");
+        if (log.isDebugEnabled()) {
+            log.debug("Decorating book with Bestseller badge");
+        }
     }
 
     @Override
     public String getDescription() {
-        return "[BESTSELLER] " + decoratedBook.getDescription();
+        return BADGE + decoratedBook.getDescription();
     }
 
     @Override
@@ -29,7 +32,9 @@ public class BestsellerBookDecorator extends BookDecorator {
         BigDecimal originalPrice = decoratedBook.getPrice();
         BigDecimal newPrice = originalPrice.multiply(PRICE_MULTIPLIER)
                 .setScale(2, RoundingMode.HALF_UP);
-        log.debug("Bestseller book price: {} -> {}", originalPrice, newPrice);
+        if (log.isDebugEnabled()) {
+            log.debug("Bestseller book price: {} -> {}", originalPrice, newPrice);
+        }
         return newPrice;
     }
 }
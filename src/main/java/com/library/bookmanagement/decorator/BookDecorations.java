@@ -0,0 +1,44 @@
+package com.library.bookmanagement.decorator;
+
+import com.library.bookmanagement.model.Book;
+
+/**
+ * Decorates a book according to its properties
+ * Shared by the read path and the write-time materialization of display values
+ */
+public final class BookDecorations {
+
+    private BookDecorations() {
+    }
+
+    /**
+     * Decorate a book according to its featured and bestseller flags
+     * Uses the cached compiled plan for the flag combination
+     * @param book the book entity
+     * @return the decorated book component
+     */
+    public static BookComponent decorate(Book book) {
+        return new CompiledBook(book, DecorationPlan.forFlags(
+                Boolean.TRUE.equals(book.getFeatured()),
+                Boolean.TRUE.equals(book.getBestseller())));
+    }
+
+    /**
+     * Build the equivalent chain of decorator objects
+     * @param book the book entity
+     * @return the decorated book component
+     */
+    public static BookComponent decorateWithChain(Book book) {
+        // Create base book component
+        BookComponent bookComponent = new SimpleBook(book);
+
+        // Apply decorators based on book properties
+        if (Boolean.TRUE.equals(book.getFeatured())) {
+            bookComponent = new FeaturedBookDecorator(bookComponent);
+        }
+        if (Boolean.TRUE.equals(book.getBestseller())) {
+            bookComponent = new BestsellerBookDecorator(bookComponent);
+        }
+        return bookComponent;
+    }
+}
@@ -0,0 +1,35 @@
+package com.library.bookmanagement.decorator;
+
+import com.library.bookmanagement.model.Book;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Book component decorated through a compiled DecorationPlan
+ * Produces the same values as the equivalent chain of decorators in a single pass
+ */
+@RequiredArgsConstructor
+public class CompiledBook implements BookComponent {
+
+    private final Book book;
+    private final DecorationPlan plan;
+
+    @Override
+    public String getDescription() {
+        return plan.describe(book.getTitle(), book.getAuthor());
+    }
+
+    @Override
+    public BigDecimal getPrice() {
+        return plan.applyPrice(book.getPrice());
+    }
+
+    /**
+     * Get the underlying book entity
+     * @return the book entity
+     */
+    public Book getBook() {
+        return book;
+    }
+}
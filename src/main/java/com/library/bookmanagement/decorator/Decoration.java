@@ -0,0 +1,21 @@
+package com.library.bookmanagement.decorator;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Decorations that can be compiled into a DecorationPlan
+ * Each constant mirrors the badge and price multiplier of its concrete decorator
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Decoration {
+
+    FEATURED(FeaturedBookDecorator.BADGE, FeaturedBookDecorator.PRICE_MULTIPLIER),
+    BESTSELLER(BestsellerBookDecorator.BADGE, BestsellerBookDecorator.PRICE_MULTIPLIER);
+
+    private final String badge;
+    private final BigDecimal priceMultiplier;
+}
@@ -0,0 +1,94 @@
+package com.library.bookmanagement.decorator;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Immutable, compiled form of a decorator chain
+ * Holds the price multiplier steps in application order and the combined description prefix,
+ * so a book is decorated in a single pass without building a chain of decorator objects
+ */
+public final class DecorationPlan {
+
+    private static final DecorationPlan[] FLAG_PLANS = {
+            compile(List.of()),
+            compile(List.of(Decoration.FEATURED)),
+            compile(List.of(Decoration.BESTSELLER)),
+            compile(List.of(Decoration.FEATURED, Decoration.BESTSELLER))
+    };
+
+    private final BigDecimal[] multipliers;
+    private final String prefix;
+
+    private DecorationPlan(BigDecimal[] multipliers, String prefix) {
+        this.multipliers = multipliers;
+        this.prefix = prefix;
+    }
+
+    /**
+     * Compile decorations into a plan
+     * @param decorations the decorations, innermost first, as they would be wrapped around a SimpleBook
+     * @return the compiled plan
+     */
+    public static DecorationPlan compile(List<Decoration> decorations) {
+        BigDecimal[] multipliers = new BigDecimal[decorations.size()];
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < decorations.size(); i++) {
+            Decoration decoration = decorations.get(i);
+            multipliers[i] = decoration.getPriceMultiplier();
+            // Outer decorators prepend their badge in front of the inner ones
+            prefix.insert(0, decoration.getBadge());
+        }
+        return new DecorationPlan(multipliers, prefix.toString());
+    }
+
+    /**
+     * Get the cached plan for a flag combination, applying Featured before Bestseller
+     * @param featured whether the book is featured
+     * @param bestseller whether the book is a bestseller
+     * @return the shared plan
+     */
+    public static DecorationPlan forFlags(boolean featured, boolean bestseller) {
+        return FLAG_PLANS[(featured ? 1 : 0) | (bestseller ? 2 : 0)];
+    }
+
+    /**
+     * Apply the price steps, rounding after each step exactly like the decorator chain
+     * @param price the original price
+     * @return the decorated price
+     */
+    public BigDecimal applyPrice(BigDecimal price) {
+        BigDecimal result = price;
+        for (BigDecimal multiplier : multipliers) {
+            result = result.multiply(multiplier).setScale(2, RoundingMode.HALF_UP);
+        }
+        return result;
+    }
+
+    /**
+     * Build the decorated description
+     * @param title the book title
+     * @param author the book author
+     * @return the description with all badges prepended
+     */
+    public String describe(String title, String author) {
+        return prefix + title + " by " + author;
+    }
+
+    /**
+     * Get the price multipliers in application order
+     * @return the multipliers
+     */
+    public List<BigDecimal> getMultipliers() {
+        return List.of(multipliers);
+    }
+
+    /**
+     * Get the combined badge prefix
+     * @return the prefix
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+}
@@ -12,16 +12,19 @@ import java.math.RoundingMode;
 @Slf4j
 public class FeaturedBookDecorator extends BookDecorator {
 
-    private static final BigDecimal PRICE_MULTIPLIER = new BigDecimal("1.10");
+    static final BigDecimal PRICE_MULTIPLIER = new BigDecimal("1.10");
+    static final String BADGE = "[FEATURED] ";
 
     public FeaturedBookDecorator(BookComponent decoratedBook) {
         super(decoratedBook);
-        log.debug("Decorating book with Featured badge");
+        if (log.isDebugEnabled()) {
+            log.debug("Decorating book with Featured badge");
+        }
     }
 
     @Override
     public String getDescription() {
-        return "[FEATURED] " + decoratedBook.getDescription();
+        return BADGE + decoratedBook.getDescription();
     }
 
     @Override
@@ -29,7 +32,9 @@ public class FeaturedBookDecorator extends BookDecorator {
         BigDecimal originalPrice = decoratedBook.getPrice();
         BigDecimal newPrice = originalPrice.multiply(PRICE_MULTIPLIER)
                 .setScale(2, RoundingMode.HALF_UP);
-        log.debug("Featured book price: {} -> {}", originalPrice, newPrice);
+        if (log.isDebugEnabled()) {
+            log.debug("Featured book price: {} -> {}", originalPrice, newPrice);
+        }
         return newPrice;
     }
 }
@@ -0,0 +1,23 @@
+package com.library.bookmanagement.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for fetching several books by ID in one request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchGetRequest {
+
+    @NotEmpty(message = "At least one ID is required")
+    private List<@NotNull(message = "IDs must not be null") Long> ids;
+}
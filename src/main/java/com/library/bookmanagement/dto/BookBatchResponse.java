@@ -0,0 +1,22 @@
+package com.library.bookmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the result of a batch get
+ * Books are in request order, each requested ID at most once; IDs without a book are listed separately
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookBatchResponse {
+
+    private List<BookResponse> books;
+    private List<Long> missingIds;
+}
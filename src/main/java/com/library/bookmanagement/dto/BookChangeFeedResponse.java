@@ -0,0 +1,39 @@
+package com.library.bookmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a batch of the change feed
+ * Cursors combine the start time of the serving instance with a sequence, so they are only valid on that instance
+ * A gap means changes after the requested cursor are no longer buffered (or the cursor is from before
+ * a restart): the consumer has to re-read the catalog, then continue from nextCursor
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookChangeFeedResponse {
+
+    private List<BookChangeResponse> changes;
+    private boolean gap;
+
+    /**
+     * Cursor to resume from, that of the last change in this batch or the requested one if there is none
+     */
+    private String nextCursor;
+
+    /**
+     * Cursor of the latest committed change
+     */
+    private String latestCursor;
+
+    /**
+     * Oldest sequence still buffered
+     */
+    private long oldestSequence;
+}
@@ -0,0 +1,25 @@
+package com.library.bookmanagement.dto;
+
+import com.library.bookmanagement.event.BookChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO for one committed catalog change in the change feed
+ * Consumers re-read the book by ID for CREATED and UPDATED changes
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookChangeResponse {
+
+    private long sequence;
+    private BookChangedEvent.Type type;
+    private Long bookId;
+    private Instant committedAt;
+}
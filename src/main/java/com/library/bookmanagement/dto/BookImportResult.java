@@ -0,0 +1,44 @@
+package com.library.bookmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO summarizing a bulk book import
+ * Rejected rows are reported individually without aborting the rest of the load
+ * Only malformed syntax stops a load early; the rows imported before it stay committed and are counted here
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookImportResult {
+
+    private long received;
+    private long imported;
+    private long failed;
+
+    /**
+     * True if the upload could not be read to the end, the last reported error says where
+     */
+    private boolean aborted;
+    private long durationMillis;
+    private List<RowError> errors;
+
+    /**
+     * Error reported for a single rejected row
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowError {
+        private long row;
+        private String isbn;
+        private String message;
+    }
+}
@@ -0,0 +1,23 @@
+package com.library.bookmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a keyset-paginated page of books
+ * The next cursor is an opaque continuation token, null on the last page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookPageResponse {
+
+    private List<BookResponse> books;
+    private String nextCursor;
+    private int limit;
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 /**
  * DTO for book response
@@ -27,4 +28,6 @@ public class BookResponse {
     private String description;
     private Boolean featured;
     private Boolean bestseller;
+    private Long version;
+    private Instant updatedAt;
 }
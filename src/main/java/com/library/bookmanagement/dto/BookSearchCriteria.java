@@ -0,0 +1,59 @@
+package com.library.bookmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO holding the optional criteria of a book search
+ * All set filters are combined into a single database query
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookSearchCriteria {
+
+    private String author;
+    private String category;
+    private Boolean featured;
+    private Boolean bestseller;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private String titlePrefix;
+
+    /**
+     * Sort property with optional direction, e.g. "price,desc"
+     */
+    private String sort;
+    private Integer page;
+    private Integer size;
+
+    /**
+     * Check whether any filter, sort or paging parameter is set
+     * @return true if the request needs a search instead of a plain listing
+     */
+    public boolean isSearch() {
+        return hasText(author) || hasText(category) || featured != null || bestseller != null
+                || minPrice != null || maxPrice != null || hasText(titlePrefix)
+                || hasText(sort) || page != null || size != null;
+    }
+
+    /**
+     * Check whether only the author and category filters of the original API are set
+     * These requests keep returning every match instead of a page
+     * @return true if only author and/or category is set
+     */
+    public boolean isLegacyFilter() {
+        return (hasText(author) || hasText(category)) && featured == null && bestseller == null
+                && minPrice == null && maxPrice == null && !hasText(titlePrefix)
+                && !hasText(sort) && page == null && size == null;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
@@ -0,0 +1,44 @@
+package com.library.bookmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO with catalog statistics, for the whole catalog and per category and author
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookStatsResponse {
+
+    private GroupStats total;
+    private List<GroupStats> byCategory;
+    private List<GroupStats> byAuthor;
+
+    /**
+     * Counts and price statistics of one group of books
+     * Prices are null for an empty group
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class GroupStats {
+        private String key;
+        private long count;
+        private long featuredCount;
+        private long bestsellerCount;
+        private BigDecimal minOriginalPrice;
+        private BigDecimal maxOriginalPrice;
+        private BigDecimal avgOriginalPrice;
+        private BigDecimal minDisplayPrice;
+        private BigDecimal maxDisplayPrice;
+        private BigDecimal avgDisplayPrice;
+    }
+}
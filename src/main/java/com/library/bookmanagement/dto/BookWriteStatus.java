@@ -0,0 +1,35 @@
+package com.library.bookmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO tracking a book creation accepted by the write-behind queue
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class BookWriteStatus {
+
+    /**
+     * Lifecycle of a queued write
+     */
+    public enum State {
+        PENDING,
+        COMMITTED,
+        FAILED
+    }
+
+    private String trackingId;
+    private State state;
+    private Long bookId;
+    private String message;
+
+    /**
+     * The created book, only set on responses that waited for the group commit
+     */
+    private BookResponse book;
+}
@@ -0,0 +1,40 @@
+package com.library.bookmanagement.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for partially updating a book
+ * Only the non-null fields are changed
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpdateBookRequest {
+
+    @Pattern(regexp = ".*\\S.*", message = "Title must not be blank")
+    private String title;
+
+    @Pattern(regexp = ".*\\S.*", message = "Author must not be blank")
+    private String author;
+
+    @Pattern(regexp = ".*\\S.*", message = "Category must not be blank")
+    private String category;
+
+    @Pattern(regexp = ".*\\S.*", message = "ISBN must not be blank")
+    private String isbn;
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0")
+    private BigDecimal price;
+
+    private Boolean featured;
+
+    private Boolean bestseller;
+}
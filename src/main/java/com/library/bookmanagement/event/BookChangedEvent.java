@@ -0,0 +1,35 @@
+package com.library.bookmanagement.event;
+
+import com.library.bookmanagement.model.Book;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Application event published by BookService whenever a book is created, updated or deleted
+ * Listeners use it to keep derived read models in sync with the catalog
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class BookChangedEvent {
+
+    /**
+     * Kind of change applied to the book
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long bookId;
+
+    /**
+     * State of the book after the change
+     * Null for deletions and for updates applied without loading the book
+     */
+    @ToString.Exclude
+    private final Book book;
+}
@@ -0,0 +1,11 @@
+package com.library.bookmanagement.exception;
+
+/**
+ * Thrown when a write conflicts with the current catalog, e.g. a duplicate ISBN
+ */
+public class BookConflictException extends RuntimeException {
+
+    public BookConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.library.bookmanagement.exception;
+
+/**
+ * Thrown when a conditional write does not match the current version of the book
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
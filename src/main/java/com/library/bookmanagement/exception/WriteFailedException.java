@@ -0,0 +1,12 @@
+package com.library.bookmanagement.exception;
+
+/**
+ * Thrown when a queued write could not be committed for a reason unrelated to the request itself,
+ * e.g. the database being unavailable
+ */
+public class WriteFailedException extends RuntimeException {
+
+    public WriteFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.library.bookmanagement.exception;
+
+/**
+ * Thrown when the write-behind queue cannot accept more writes
+ * Signals clients to back off and retry
+ */
+public class WriteQueueFullException extends RuntimeException {
+
+    public WriteQueueFullException(String message) {
+        super(message);
+    }
+}
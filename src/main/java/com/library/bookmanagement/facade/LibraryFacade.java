@@ -1,15 +1,72 @@
 package com.library.bookmanagement.facade;
 
+import com.library.bookmanagement.cache.BookListSnapshots;
+import com.library.bookmanagement.cache.BookResponseCache;
+import com.library.bookmanagement.cache.BookStatsCache;
+import com.library.bookmanagement.cache.CatalogVersion;
 import com.library.bookmanagement.decorator.*;
+import com.library.bookmanagement.dto.BookBatchResponse;
+import com.library.bookmanagement.dto.BookChangeFeedResponse;
+import com.library.bookmanagement.dto.BookImportResult;
+import com.library.bookmanagement.dto.BookPageResponse;
 import com.library.bookmanagement.dto.BookResponse;
+import com.library.bookmanagement.dto.BookSearchCriteria;
+import com.library.bookmanagement.dto.BookStatsResponse;
+import com.library.bookmanagement.dto.BookWriteStatus;
 import com.library.bookmanagement.dto.CreateBookRequest;
+import com.library.bookmanagement.dto.UpdateBookRequest;
+import com.library.bookmanagement.event.BookChangedEvent;
+import com.library.bookmanagement.exception.BookConflictException;
+import com.library.bookmanagement.exception.WriteFailedException;
+import com.library.bookmanagement.feed.BookChangeFeed;
+import com.library.bookmanagement.metrics.Untimed;
 import com.library.bookmanagement.model.Book;
+import com.library.bookmanagement.model.BookVersion;
+import com.library.bookmanagement.model.BookView;
+import com.library.bookmanagement.search.BookSearchIndex;
+import com.library.bookmanagement.service.BookImportService;
 import com.library.bookmanagement.service.BookService;
+import com.library.bookmanagement.service.BookWriteBehindQueue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -21,7 +78,81 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class LibraryFacade {
 
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "title", "author", "category", "price");
+
     private final BookService bookService;
+    private final BookResponseCache bookResponseCache;
+    private final BookImportService bookImportService;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookWriteBehindQueue bookWriteBehindQueue;
+    private final CatalogVersion catalogVersion;
+    private final BookListSnapshots bookListSnapshots;
+    private final BookStatsCache bookStatsCache;
+    private final BookChangeFeed bookChangeFeed;
+    private final MeterRegistry meterRegistry;
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Value("${library.pagination.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${library.pagination.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${library.search.max-results:100}")
+    private int maxSearchResults;
+
+    @Value("${library.decoration.materialized:true}")
+    private boolean materializedDecorations;
+
+    @Value("${library.write-behind.group-commit-timeout:2s}")
+    private Duration groupCommitTimeout;
+
+    @Value("${library.batch-get.max-ids:500}")
+    private int maxBatchIds;
+
+    @Value("${library.single-flight.max-wait:2s}")
+    private Duration singleFlightMaxWait;
+
+    @Value("${library.change-feed.max-wait:60s}")
+    private Duration maxChangeWait;
+
+    @Value("${library.metrics.operations.enabled:true}")
+    private boolean conversionMetrics;
+
+    private Timer conversionTimer;
+    private Counter materializedConversions;
+    private Counter decoratedConversions;
+
+    /**
+     * Register the meters of the conversion hot path once, so recording never looks them up
+     * They follow the operation metrics switch, so turning it off also takes the clock reads off every conversion
+     */
+    @PostConstruct
+    void registerMeters() {
+        if (!conversionMetrics) {
+            return;
+        }
+        conversionTimer = Timer.builder("library.conversion")
+                .description("Latency of converting a book into a decorated response")
+                .register(meterRegistry);
+        materializedConversions = Counter.builder("library.conversion.source")
+                .description("Conversions by source of the display values")
+                .tag("source", "materialized")
+                .register(meterRegistry);
+        decoratedConversions = Counter.builder("library.conversion.source")
+                .description("Conversions by source of the display values")
+                .tag("source", "decorated")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the current version of the catalog, the validator of collection reads
+     * @return the current catalog version
+     */
+    @Untimed
+    public CatalogVersion.Snapshot getCatalogVersion() {
+        return catalogVersion.current();
+    }
 
     /**
      * Add a new book to the library
@@ -45,6 +176,80 @@ public class LibraryFacade {
         return convertToResponse(savedBook);
     }
 
+    /**
+     * Check whether new books go through the write-behind queue
+     * @return true if the write-behind mode is enabled
+     */
+    @Untimed
+    public boolean isWriteBehindEnabled() {
+        return bookWriteBehindQueue.isEnabled();
+    }
+
+    /**
+     * Queue a new book for a batched write
+     * In GROUP_COMMIT mode this waits for the batch to commit and returns the created book;
+     * in ACCEPTED mode, or when the wait times out, the write is returned as pending
+     * @param request the book creation request
+     * @return the status of the write
+     * @throws BookConflictException if the request itself was rejected, e.g. for a duplicate ISBN
+     * @throws WriteFailedException if the batch containing the write failed
+     */
+    public BookWriteStatus submitNewBook(CreateBookRequest request) {
+        log.info("Facade: Queueing new book - {}", request.getTitle());
+        BookWriteBehindQueue.PendingWrite write = bookWriteBehindQueue.submit(request);
+        BookWriteStatus pending = BookWriteStatus.builder()
+                .trackingId(write.trackingId())
+                .state(BookWriteStatus.State.PENDING)
+                .build();
+        if (bookWriteBehindQueue.getDurability() == BookWriteBehindQueue.Durability.ACCEPTED) {
+            return pending;
+        }
+
+        BookImportService.RowResult result;
+        try {
+            result = write.result().get(groupCommitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            return pending;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return pending;
+        } catch (ExecutionException ex) {
+            throw new WriteFailedException("Queued write failed: " + ex.getCause().getMessage(), ex.getCause());
+        }
+
+        if (!result.isImported()) {
+            throw new BookConflictException(result.error());
+        }
+        return pending.toBuilder()
+                .state(BookWriteStatus.State.COMMITTED)
+                .bookId(result.book().getId())
+                .book(convertToResponse(result.book()))
+                .build();
+    }
+
+    /**
+     * Get the status of a queued write
+     * @param trackingId the tracking ID
+     * @return the write status
+     */
+    public BookWriteStatus getWriteStatus(String trackingId) {
+        log.info("Facade: Getting write status - {}", trackingId);
+        return bookWriteBehindQueue.getStatus(trackingId)
+                .orElseThrow(() -> new RuntimeException("Write not found with tracking id: " + trackingId));
+    }
+
+    /**
+     * Import books in bulk from an uploaded stream
+     * @param inputStream the uploaded content
+     * @param format the format of the content
+     * @return the import summary with per-row errors
+     * @throws IOException if the stream cannot be read
+     */
+    public BookImportResult importBooks(InputStream inputStream, BookImportService.Format format) throws IOException {
+        log.info("Facade: Importing books - format: {}", format);
+        return bookImportService.importBooks(inputStream, format);
+    }
+
     /**
      * Find books by category
      * @param category the category to search for
@@ -52,19 +257,97 @@ public class LibraryFacade {
      */
     public List<BookResponse> findBooksByCategory(String category) {
         log.info("Facade: Finding books by category - {}", category);
-        List<Book> books = bookService.findByCategory(category);
-        return books.stream()
+        return coalescedAtCatalogVersion(() -> bookService.findByCategory(category).stream()
                 .map(this::convertToResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), "findBooksByCategory", category);
+    }
+
+    /**
+     * Load the featured and bestseller snapshots once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadBookLists() {
+        bookListSnapshots.load(
+                () -> bookService.findFeaturedBooks().stream().map(this::convertToResponse).toList(),
+                () -> bookService.findBestsellers().stream().map(this::convertToResponse).toList());
+    }
+
+    /**
+     * Collect a book change for the featured and bestseller snapshots
+     * The changes of one transaction are applied together once it has committed, so an import batch publishes
+     * one new list instead of one per book; outside a transaction the change is applied at once
+     * @param event the book change event
+     */
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyToBookLists(Map.of(event.getBookId(), event));
+            return;
+        }
+        PendingBookListChanges pending = (PendingBookListChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingBookListChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.put(event.getBookId(), event);
+    }
+
+    /**
+     * Apply committed book changes to the featured and bestseller snapshots in one step
+     * @param events the last change of each book by ID
+     */
+    private void applyToBookLists(Map<Long, BookChangedEvent> events) {
+        Map<Long, BookResponse> changes = new HashMap<>();
+        events.forEach((id, event) -> {
+            BookResponse after = null;
+            if (event.getType() != BookChangedEvent.Type.DELETED) {
+                // Updates applied without loading the book carry no state, read what was committed
+                Book book = event.getBook() != null
+                        ? event.getBook()
+                        : bookService.getBookById(id).orElse(null);
+                after = book != null ? convertToResponse(book) : null;
+            }
+            changes.put(id, after);
+        });
+        bookListSnapshots.apply(changes);
+    }
+
+    /**
+     * Book changes of one transaction, applied to the snapshots once it has committed
+     * Runs before the catalog version is bumped, so a new catalog ETag never labels an old list
+     */
+    private final class PendingBookListChanges implements TransactionSynchronization {
+        private final Map<Long, BookChangedEvent> events = new LinkedHashMap<>();
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void afterCommit() {
+            applyToBookLists(events);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(LibraryFacade.this);
+        }
     }
 
     /**
      * Get all featured books
+     * Served from the pre-decorated snapshot once it is loaded
      * @return list of featured book responses
      */
     public List<BookResponse> getFeaturedBooks() {
         log.info("Facade: Getting all featured books");
-        List<Book> books = bookService.findFeaturedBooks();
+        List<BookResponse> snapshot = bookListSnapshots.featured();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        List<BookView> books = bookService.findFeaturedBooks();
         return books.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
@@ -72,11 +355,16 @@ public class LibraryFacade {
 
     /**
      * Get all bestseller books
+     * Served from the pre-decorated snapshot once it is loaded
      * @return list of bestseller book responses
      */
     public List<BookResponse> getBestsellers() {
         log.info("Facade: Getting all bestseller books");
-        List<Book> books = bookService.findBestsellers();
+        List<BookResponse> snapshot = bookListSnapshots.bestsellers();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        List<BookView> books = bookService.findBestsellers();
         return books.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
@@ -84,37 +372,125 @@ public class LibraryFacade {
 
     /**
      * Search books by various criteria
-     * @param author optional author name
-     * @param category optional category
-     * @return list of book responses
+     * All criteria, the sort and the page limit are applied by the database in one query
+     * Requests with only the author and/or category filter of the original API return every match, unpaged
+     * @param criteria the search criteria
+     * @return list of book responses of the requested page
+     * @throws IllegalArgumentException if the page starts beyond the rows a query can skip
      */
-    public List<BookResponse> searchBooks(String author, String category) {
-        log.info("Facade: Searching books - author: {}, category: {}", author, category);
+    public List<BookResponse> searchBooks(BookSearchCriteria criteria) {
+        log.info("Facade: Searching books - {}", criteria);
 
-        List<Book> books;
-        if (author != null && !author.isEmpty()) {
-            books = bookService.findByAuthor(author);
-        } else if (category != null && !category.isEmpty()) {
-            books = bookService.findByCategory(category);
+        Pageable pageable;
+        if (criteria.isLegacyFilter()) {
+            pageable = Pageable.unpaged();
         } else {
-            books = bookService.getAllBooks();
+            int page = criteria.getPage() == null ? 0 : Math.max(criteria.getPage(), 0);
+            int size = criteria.getSize() == null ? defaultPageSize : Math.min(Math.max(criteria.getSize(), 1), maxPageSize);
+            if ((long) page * size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Page " + page + " of size " + size + " is out of range");
+            }
+            pageable = PageRequest.of(page, size, parseSort(criteria.getSort()));
         }
 
-        return books.stream()
+        return coalescedAtCatalogVersion(() -> bookService.searchBooks(criteria, pageable).stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList()), "searchBooks", pageable, criteria);
+    }
+
+    /**
+     * Full-text search over titles and authors using the in-memory index
+     * Only the ranked top results are loaded, by primary key
+     * @param query the free-text query
+     * @param limit the maximum number of results
+     * @return list of book responses, best match first
+     */
+    public List<BookResponse> searchByText(String query, Integer limit) {
+        log.info("Facade: Text search - query: {}, limit: {}", query, limit);
+        int resultLimit = limit == null ? 10 : Math.min(Math.max(limit, 1), maxSearchResults);
+        List<Long> ids = bookSearchIndex.search(query, resultLimit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Book> booksById = bookService.getBooksByIds(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return ids.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Get all books in the library
-     * @return list of all book responses
+     * Get catalog statistics, cached until the next committed change
+     * @return the catalog statistics
      */
-    public List<BookResponse> getAllBooks() {
-        log.info("Facade: Getting all books");
-        List<Book> books = bookService.getAllBooks();
-        return books.stream()
+    public BookStatsResponse getStats() {
+        log.info("Facade: Getting catalog statistics");
+        return bookStatsCache.get(bookService::getStats);
+    }
+
+    /**
+     * Get a keyset page of books
+     * @param cursor the continuation token of the previous page, null for the first page
+     * @param limit the requested page size, capped at the configured maximum
+     * @return the page of book responses with the cursor of the next page
+     */
+    public BookPageResponse getBookPage(String cursor, Integer limit) {
+        log.info("Facade: Getting book page - cursor: {}, limit: {}", cursor, limit);
+        int pageSize = limit == null ? defaultPageSize : Math.min(Math.max(limit, 1), maxPageSize);
+        long afterId = decodeCursor(cursor);
+
+        // Fetch one extra row to know whether another page follows
+        List<Book> books = bookService.getBooksAfter(afterId, pageSize + 1);
+        boolean hasMore = books.size() > pageSize;
+        if (hasMore) {
+            books = books.subList(0, pageSize);
+        }
+
+        List<BookResponse> responses = books.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
+
+        return BookPageResponse.builder()
+                .books(responses)
+                .nextCursor(hasMore ? encodeCursor(books.get(books.size() - 1).getId()) : null)
+                .limit(pageSize)
+                .build();
+    }
+
+    /**
+     * Stream all books in the library, converting each one as it is read
+     * @param consumer the consumer receiving each book response
+     */
+    public void streamAllBooks(Consumer<BookResponse> consumer) {
+        log.info("Facade: Streaming all books");
+        bookService.streamAllBooks(book -> consumer.accept(convertToResponse(book)));
+    }
+
+    /**
+     * Get the committed changes following a cursor, waiting for the next one if there are none yet
+     * @param since the cursor of the last change the consumer has seen
+     * @param limit the maximum number of changes, capped at the configured batch size
+     * @param waitSeconds how long to wait for a change, capped at the configured maximum (0 answers immediately)
+     * @return the pending batch of changes
+     */
+    public DeferredResult<BookChangeFeedResponse> getChanges(String since, Integer limit, Integer waitSeconds) {
+        log.info("Facade: Getting changes - since: {}, limit: {}, wait: {}s", since, limit, waitSeconds);
+        int batchSize = limit == null ? Integer.MAX_VALUE : Math.max(limit, 1);
+        Duration wait = waitSeconds == null ? Duration.ZERO : Duration.ofSeconds(Math.max(waitSeconds, 0));
+        return bookChangeFeed.poll(since, batchSize, wait.compareTo(maxChangeWait) > 0 ? maxChangeWait : wait);
+    }
+
+    /**
+     * Stream the committed changes following a cursor as server-sent events
+     * @param since the cursor of the last change the consumer has seen
+     * @return the emitter streaming the changes
+     */
+    public SseEmitter streamChanges(String since) {
+        log.info("Facade: Streaming changes - since: {}", since);
+        return bookChangeFeed.subscribe(since);
     }
 
     /**
@@ -124,9 +500,123 @@ public class LibraryFacade {
      */
     public BookResponse getBookById(Long id) {
         log.info("Facade: Getting book by ID - {}", id);
-        Book book = bookService.getBookById(id)
+        return coalesced(() -> bookResponseCache.get(id, key -> {
+            Book book = bookService.getBookById(key)
+                    .orElseThrow(() -> new RuntimeException("Book not found with id: " + key));
+            return convertToResponse(book);
+        }), "getBookById", id);
+    }
+
+    /**
+     * Get the validators of a book for a conditional GET
+     * A cached response answers without a query, otherwise only the version and modification time are read
+     * @param id the book ID
+     * @return the version and modification time of the book
+     */
+    public BookVersion getBookVersion(Long id) {
+        BookResponse cached = bookResponseCache.getIfPresent(id);
+        if (cached != null) {
+            return new BookVersion(cached.getVersion(), cached.getUpdatedAt());
+        }
+        return bookService.getBookVersion(id)
                 .orElseThrow(() -> new RuntimeException("Book not found with id: " + id));
-        return convertToResponse(book);
+    }
+
+    /**
+     * Get several books by ID in one pass
+     * Cached responses are used as they are; the other books are loaded with chunked IN queries and converted
+     * together, without being added to the cache
+     * @param ids the book IDs, duplicates are returned once
+     * @return the books in request order and the IDs without a book
+     * @throws IllegalArgumentException if more IDs are requested than allowed
+     */
+    public BookBatchResponse getBooksByIds(List<Long> ids) {
+        log.info("Facade: Getting {} books by ID", ids.size());
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        if (requested.size() > maxBatchIds) {
+            throw new IllegalArgumentException(
+                    "At most " + maxBatchIds + " IDs can be requested at once, got " + requested.size());
+        }
+
+        Map<Long, BookResponse> responses = new HashMap<>(bookResponseCache.getAllPresent(requested));
+        List<Long> uncached = requested.stream()
+                .filter(id -> !responses.containsKey(id))
+                .toList();
+        if (!uncached.isEmpty()) {
+            bookService.getBooksByIds(uncached)
+                    .forEach(book -> responses.put(book.getId(), convertToResponse(book)));
+        }
+
+        List<BookResponse> books = new ArrayList<>(requested.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            BookResponse response = responses.get(id);
+            if (response != null) {
+                books.add(response);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return BookBatchResponse.builder()
+                .books(books)
+                .missingIds(missingIds)
+                .build();
+    }
+
+    /**
+     * Get a book by ISBN
+     * @param isbn the book ISBN
+     * @return the book response
+     */
+    public BookResponse getBookByIsbn(String isbn) {
+        log.info("Facade: Getting book by ISBN - {}", isbn);
+        return coalescedAtCatalogVersion(() -> {
+            Book book = bookService.getBookByIsbn(isbn)
+                    .orElseThrow(() -> new RuntimeException("Book not found with isbn: " + isbn));
+            return convertToResponse(book);
+        }, "getBookByIsbn", isbn);
+    }
+
+    /**
+     * Update the supplied fields of a book, reading it first
+     * @param id the book ID
+     * @param changes the fields to change
+     * @return the updated book response
+     */
+    public BookResponse updateBook(Long id, UpdateBookRequest changes) {
+        log.info("Facade: Updating book with ID - {}", id);
+        return convertToResponse(bookService.updateBook(id, changes));
+    }
+
+    /**
+     * Update the supplied fields of a book if it is still at the expected version, without reading it
+     * @param id the book ID
+     * @param expectedVersion the version from the client's If-Match header
+     * @param changes the fields to change
+     * @return the new version of the book
+     */
+    public long updateBook(Long id, long expectedVersion, UpdateBookRequest changes) {
+        log.info("Facade: Updating book with ID - {} at version {}", id, expectedVersion);
+        return bookService.updateBook(id, expectedVersion, changes);
+    }
+
+    /**
+     * Build an update that replaces every field of a book
+     * @param request the complete book details
+     * @return the update covering every field
+     */
+    @Untimed
+    public UpdateBookRequest toFullUpdate(CreateBookRequest request) {
+        return UpdateBookRequest.builder()
+                .title(request.getTitle())
+                .author(request.getAuthor())
+                .category(request.getCategory())
+                .isbn(request.getIsbn())
+                .price(request.getPrice())
+                .featured(request.getFeatured())
+                .bestseller(request.getBestseller())
+                .build();
     }
 
     /**
@@ -143,30 +633,126 @@ public class LibraryFacade {
      * @param book the book entity
      * @return the book response with decorated information
      */
-    private BookResponse convertToResponse(Book book) {
-        // Create base book component
-        BookComponent bookComponent = new SimpleBook(book);
+    BookResponse convertToResponse(Book book) {
+        return convertToResponse(BookView.of(book));
+    }
 
-        // Apply decorators based on book properties
-        if (book.getFeatured()) {
-            bookComponent = new FeaturedBookDecorator(bookComponent);
-        }
-        if (book.getBestseller()) {
-            bookComponent = new BestsellerBookDecorator(bookComponent);
+    /**
+     * Convert a book projection to BookResponse using Decorator Pattern
+     * Display values materialized at write time are copied as is, otherwise the compiled decorator plan is applied
+     * @param book the book projection
+     * @return the book response with decorated information
+     */
+    BookResponse convertToResponse(BookView book) {
+        long start = conversionMetrics ? System.nanoTime() : 0L;
+        BigDecimal displayPrice;
+        String description;
+        if (materializedDecorations && book.displayPrice() != null && book.description() != null) {
+            displayPrice = book.displayPrice();
+            description = book.description();
+            if (conversionMetrics) {
+                materializedConversions.increment();
+            }
+        } else {
+            DecorationPlan plan = DecorationPlan.forFlags(
+                    Boolean.TRUE.equals(book.featured()), Boolean.TRUE.equals(book.bestseller()));
+            displayPrice = plan.applyPrice(book.price());
+            description = plan.describe(book.title(), book.author());
+            if (conversionMetrics) {
+                decoratedConversions.increment();
+            }
         }
 
         // Build response with decorated values
-        return BookResponse.builder()
-                .id(book.getId())
-                .title(book.getTitle())
-                .author(book.getAuthor())
-                .category(book.getCategory())
-                .isbn(book.getIsbn())
-                .originalPrice(book.getPrice())
-                .displayPrice(bookComponent.getPrice())
-                .description(bookComponent.getDescription())
-                .featured(book.getFeatured())
-                .bestseller(book.getBestseller())
+        BookResponse response = BookResponse.builder()
+                .id(book.id())
+                .title(book.title())
+                .author(book.author())
+                .category(book.category())
+                .isbn(book.isbn())
+                .originalPrice(book.price())
+                .displayPrice(displayPrice)
+                .description(description)
+                .featured(book.featured())
+                .bestseller(book.bestseller())
+                .version(book.version())
+                .updatedAt(book.updatedAt())
                 .build();
+        if (conversionMetrics) {
+            conversionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return response;
+    }
+
+    /**
+     * Run a read through the single-flight layer, so identical concurrent reads share one query and conversion
+     * The shared result is handed to every caller and must not be modified
+     * @param loader performs the read
+     * @param key the operation name followed by its arguments
+     * @return the shared or freshly loaded result
+     */
+    private <T> T coalesced(Supplier<T> loader, Object... key) {
+        return singleFlight.execute(SingleFlight.key(key), loader, singleFlightMaxWait);
+    }
+
+    /**
+     * Run a collection read through the single-flight layer, keyed by the current catalog version as well
+     * A caller only joins a read started at the version it observed, so a list loaded before a change
+     * is never handed out under the ETag of a later version
+     * @param loader performs the read
+     * @param key the operation name followed by its arguments
+     * @return the shared or freshly loaded result
+     */
+    private <T> T coalescedAtCatalogVersion(Supplier<T> loader, Object... key) {
+        Object[] versionedKey = Arrays.copyOf(key, key.length + 1);
+        versionedKey[key.length] = catalogVersion.current().eTag();
+        return coalesced(loader, versionedKey);
+    }
+
+    /**
+     * Parse a sort parameter of the form "property" or "property,direction"
+     * @param sort the sort parameter, may be null
+     * @return the sort, by ID when none is given
+     */
+    private Sort parseSort(String sort) {
+        if (sort == null || sort.isEmpty()) {
+            return Sort.by("id");
+        }
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        if (!SORTABLE_PROPERTIES.contains(property)) {
+            throw new IllegalArgumentException("Unsupported sort property: " + property);
+        }
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromString(parts[1].trim())
+                : Sort.Direction.ASC;
+        // Tie-break on ID so pages are stable
+        return Sort.by(direction, property).and(Sort.by("id"));
+    }
+
+    /**
+     * Encode a book ID into an opaque page cursor
+     * @param lastId the ID of the last book of the page
+     * @return the cursor
+     */
+    private String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode an opaque page cursor into the ID of the last book of the previous page
+     * @param cursor the cursor, may be null or empty for the first page
+     * @return the last seen book ID, 0 when no cursor is given
+     */
+    private long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+        }
     }
 }
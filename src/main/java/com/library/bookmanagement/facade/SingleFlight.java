@@ -0,0 +1,91 @@
+package com.library.bookmanagement.facade;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls into one in-flight computation
+ * The first caller for a key runs the loader, callers arriving while it runs wait for and share its result
+ * or its exception; nothing is kept once the computation completes, so this is not a cache
+ * A waiter that is not served within the maximum wait runs the loader itself instead of failing
+ */
+@Slf4j
+final class SingleFlight {
+
+    private final ConcurrentMap<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Build a key from an operation name and its arguments
+     * @param parts the operation name followed by the arguments, nulls allowed
+     * @return the key, equal for equal operations and arguments
+     */
+    static List<Object> key(Object... parts) {
+        return Arrays.asList(parts);
+    }
+
+    /**
+     * Run the loader, or join the computation already running for the same key
+     * @param key the operation key
+     * @param loader computes the result
+     * @param maxWait how long to wait for a running computation before computing independently
+     * @return the shared or computed result
+     */
+    @SuppressWarnings("unchecked")
+    <T> T execute(List<Object> key, Supplier<T> loader, Duration maxWait) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            return (T) await(key, running, loader, maxWait);
+        }
+        try {
+            T result = loader.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Number of computations currently running
+     * @return the in-flight count
+     */
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static Object await(List<Object> key, CompletableFuture<Object> running, Supplier<?> loader,
+                                Duration maxWait) {
+        try {
+            return running.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (TimeoutException ex) {
+            log.warn("Shared computation for {} still running after {}, computing independently", key, maxWait);
+            return loader.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + key, ex);
+        }
+    }
+}
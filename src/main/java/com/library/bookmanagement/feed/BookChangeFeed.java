@@ -0,0 +1,268 @@
+package com.library.bookmanagement.feed;
+
+import com.library.bookmanagement.dto.BookChangeFeedResponse;
+import com.library.bookmanagement.dto.BookChangeResponse;
+import com.library.bookmanagement.event.BookChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounded in-memory feed of committed catalog changes, numbered by a sequence that increases by one per change
+ * Consumers resume from a cursor made of the start time of this instance and a sequence, so a cursor from
+ * before a restart is recognized and answered with a gap instead of silently skipping or repeating changes
+ * Writers only append to a ring buffer under a short lock; SSE subscribers and long-poll waiters are served
+ * on their own virtual threads, so a slow consumer never holds up a write
+ * When a consumer falls behind by more than the buffer capacity it gets an explicit gap instead of a silent skip
+ */
+@Slf4j
+@Component
+public class BookChangeFeed {
+
+    @Value("${library.change-feed.capacity:4096}")
+    private int capacity;
+
+    @Value("${library.change-feed.max-batch:500}")
+    private int maxBatch;
+
+    @Value("${library.change-feed.stream-timeout:30m}")
+    private Duration streamTimeout;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private BookChangeResponse[] ring;
+    private long latestSequence;
+    private final List<Waiter> waiters = new ArrayList<>();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final ExecutorService deliveryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PostConstruct
+    void start() {
+        ring = new BookChangeResponse[capacity];
+    }
+
+    @PreDestroy
+    void stop() {
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        deliveryExecutor.shutdownNow();
+    }
+
+    /**
+     * Append a committed book change and wake up the consumers waiting for it
+     * @param event the book change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        List<Waiter> ready;
+        synchronized (this) {
+            long sequence = ++latestSequence;
+            ring[(int) (sequence % capacity)] = BookChangeResponse.builder()
+                    .sequence(sequence)
+                    .type(event.getType())
+                    .bookId(event.getBookId())
+                    .committedAt(Instant.now())
+                    .build();
+            ready = waiters.isEmpty() ? List.of() : new ArrayList<>(waiters);
+            waiters.clear();
+        }
+        ready.forEach(waiter -> deliveryExecutor.execute(
+                () -> waiter.result().setResult(read(waiter.since(), waiter.limit()))));
+        subscriptions.forEach(Subscription::signal);
+    }
+
+    /**
+     * Read the buffered changes following a cursor
+     * @param cursor the cursor of the last change the consumer has seen (0 for the start of the feed)
+     * @param limit the maximum number of changes to return
+     * @return the changes, with a gap flag if some of them are no longer buffered
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public BookChangeFeedResponse read(String cursor, int limit) {
+        return read(sequenceOf(cursor), limit);
+    }
+
+    private synchronized BookChangeFeedResponse read(long since, int limit) {
+        long oldest = oldestSequence();
+        boolean gap = since < oldest - 1 || since > latestSequence;
+        long from = gap ? oldest : since + 1;
+        long to = Math.min(latestSequence, from + Math.min(limit, maxBatch) - 1);
+        List<BookChangeResponse> changes = new ArrayList<>((int) Math.max(0, to - from + 1));
+        for (long sequence = from; sequence <= to; sequence++) {
+            changes.add(ring[(int) (sequence % capacity)]);
+        }
+        return BookChangeFeedResponse.builder()
+                .changes(changes)
+                .gap(gap)
+                .nextCursor(cursorOf(changes.isEmpty() ? from - 1 : to))
+                .latestCursor(cursorOf(latestSequence))
+                .oldestSequence(oldest)
+                .build();
+    }
+
+    /**
+     * Long-poll for changes following a cursor
+     * Completes immediately when changes or a gap are available, otherwise with the first change committed
+     * within the wait, or with an empty batch when the wait expires
+     * @param cursor the cursor of the last change the consumer has seen
+     * @param limit the maximum number of changes to return
+     * @param wait how long to wait for a change
+     * @return the pending result
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public DeferredResult<BookChangeFeedResponse> poll(String cursor, int limit, Duration wait) {
+        long since = sequenceOf(cursor);
+        DeferredResult<BookChangeFeedResponse> result = new DeferredResult<>(
+                Math.max(1, wait.toMillis()), () -> read(since, limit));
+        synchronized (this) {
+            BookChangeFeedResponse batch = read(since, limit);
+            if (!batch.getChanges().isEmpty() || batch.isGap() || wait.isZero()) {
+                result.setResult(batch);
+                return result;
+            }
+            Waiter waiter = new Waiter(since, limit, result);
+            waiters.add(waiter);
+            result.onCompletion(() -> removeWaiter(waiter));
+        }
+        return result;
+    }
+
+    /**
+     * Open a server-sent event stream of the changes following a cursor
+     * Each change is sent as a "change" event whose ID is its cursor, so EventSource clients resume with
+     * Last-Event-ID; a "gap" event precedes changes sent after a gap
+     * @param cursor the cursor of the last change the consumer has seen
+     * @return the emitter streaming the changes
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public SseEmitter subscribe(String cursor) {
+        long since = sequenceOf(cursor);
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscription subscription = new Subscription(emitter, since);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        log.info("Change feed subscriber added - since: {}, subscribers: {}", cursor, subscriptions.size());
+        subscription.signal();
+        return emitter;
+    }
+
+    /**
+     * Format a sequence of this instance as a cursor
+     * @param sequence the sequence
+     * @return the cursor, the epoch and the sequence separated by a dash
+     */
+    private String cursorOf(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * Resolve a cursor to a sequence of this instance
+     * A cursor of another instance, or a bare sequence other than 0, resolves to -1, which always reads as a gap
+     * @param cursor the cursor, null, blank or 0 for the start of the feed
+     * @return the sequence
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    private long sequenceOf(String cursor) {
+        if (cursor == null || cursor.isBlank() || cursor.trim().equals("0")) {
+            return 0;
+        }
+        String value = cursor.trim();
+        int separator = value.lastIndexOf('-');
+        long sequence;
+        try {
+            sequence = Long.parseLong(value.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid change feed cursor: " + cursor);
+        }
+        // A bare sequence or a cursor of another instance cannot be trusted after a restart
+        return separator > 0 && value.substring(0, separator).equals(epoch) ? sequence : -1;
+    }
+
+    private long oldestSequence() {
+        return Math.max(1, latestSequence - capacity + 1);
+    }
+
+    private synchronized boolean hasChangesAfter(long sequence) {
+        return latestSequence != sequence;
+    }
+
+    private synchronized void removeWaiter(Waiter waiter) {
+        waiters.remove(waiter);
+    }
+
+    private record Waiter(long since, int limit, DeferredResult<BookChangeFeedResponse> result) {
+    }
+
+    /**
+     * One SSE consumer and its position in the feed
+     * At most one delivery runs per subscriber; signals arriving meanwhile are picked up by its final re-check
+     */
+    private final class Subscription {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long cursor;
+
+        private Subscription(SseEmitter emitter, long since) {
+            this.emitter = emitter;
+            this.cursor = since;
+        }
+
+        void signal() {
+            if (scheduled.compareAndSet(false, true)) {
+                deliveryExecutor.execute(this::deliver);
+            }
+        }
+
+        private void deliver() {
+            try {
+                do {
+                    BookChangeFeedResponse batch = read(cursor, maxBatch);
+                    while (!batch.getChanges().isEmpty() || batch.isGap()) {
+                        send(batch);
+                        cursor = sequenceOf(batch.getNextCursor());
+                        batch = read(cursor, maxBatch);
+                    }
+                    scheduled.set(false);
+                } while (hasChangesAfter(cursor) && scheduled.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away or the emitter timed out
+                subscriptions.remove(this);
+                emitter.completeWithError(ex);
+            }
+        }
+
+        private void send(BookChangeFeedResponse batch) throws IOException {
+            if (batch.isGap()) {
+                emitter.send(SseEmitter.event()
+                        .name("gap")
+                        .data(Map.of("oldestSequence", batch.getOldestSequence(), "latestCursor", batch.getLatestCursor()),
+                                MediaType.APPLICATION_JSON));
+            }
+            for (BookChangeResponse change : batch.getChanges()) {
+                emitter.send(SseEmitter.event()
+                        .id(cursorOf(change.getSequence()))
+                        .name("change")
+                        .data(change, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+}
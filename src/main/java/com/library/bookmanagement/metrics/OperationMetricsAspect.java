@@ -0,0 +1,148 @@
+package com.library.bookmanagement.metrics;
+
+import com.library.bookmanagement.controller.BookController;
+import com.library.bookmanagement.facade.LibraryFacade;
+import com.library.bookmanagement.repository.BookRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records latency, throughput and result sizes of controller, facade, service and repository operations
+ * Only public operations are timed; event listeners, lifecycle callbacks and {@link Untimed} accessors are left out
+ * Meters are resolved once per method, so a call only costs two clock reads and a timer update
+ * Percentile histograms are published for the layers in {@code library.metrics.operations.histogram-layers},
+ * the other layers only record count, total and max
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "library.metrics.operations.enabled", havingValue = "true", matchIfMissing = true)
+public class OperationMetricsAspect {
+
+    static final String OPERATION_TIMER = "library.operation";
+    static final String RESULT_SIZE_SUMMARY = "library.operation.result.size";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, OperationMeters> meters = new ConcurrentHashMap<>();
+
+    @Value("${library.metrics.operations.histogram-layers:controller}")
+    private Set<String> histogramLayers;
+
+    @Pointcut("execution(public * *(..))"
+            + " && !@annotation(org.springframework.context.event.EventListener)"
+            + " && !@annotation(org.springframework.transaction.event.TransactionalEventListener)"
+            + " && !@annotation(jakarta.annotation.PostConstruct)"
+            + " && !@annotation(jakarta.annotation.PreDestroy)"
+            + " && !@annotation(com.library.bookmanagement.metrics.Untimed)")
+    void operation() {
+    }
+
+    @Around("operation() && within(com.library.bookmanagement.controller.BookController)")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "controller", BookController.class);
+    }
+
+    @Around("operation() && within(com.library.bookmanagement.facade.LibraryFacade)")
+    public Object timeFacade(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "facade", LibraryFacade.class);
+    }
+
+    @Around("operation() && within(com.library.bookmanagement.service..*)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "service", ClassUtils.getUserClass(joinPoint.getTarget()));
+    }
+
+    @Around("target(com.library.bookmanagement.repository.BookRepository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        // Named after the repository interface, not after CrudRepository or the SimpleJpaRepository behind the proxy
+        return time(joinPoint, "repository", BookRepository.class);
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer, Class<?> type) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        OperationMeters operationMeters = meters.get(method);
+        if (operationMeters == null) {
+            operationMeters = meters.computeIfAbsent(method, m -> new OperationMeters(
+                    meterRegistry, layer, type.getSimpleName() + "." + m.getName(),
+                    histogramLayers.contains(layer), returnsCollection(m)));
+        }
+
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            operationMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            operationMeters.recordResultSize(result);
+            return result;
+        } catch (Throwable ex) {
+            operationMeters.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private static boolean returnsCollection(Method method) {
+        Class<?> returnType = method.getReturnType();
+        return Collection.class.isAssignableFrom(returnType) || ResponseEntity.class.isAssignableFrom(returnType);
+    }
+
+    /**
+     * Meters of one operation
+     */
+    private static final class OperationMeters {
+        private final Timer success;
+        private final Timer error;
+        private final DistributionSummary resultSize;
+
+        private OperationMeters(MeterRegistry registry, String layer, String operation,
+                                boolean histogram, boolean collectionResult) {
+            this.success = timer(registry, layer, operation, "success", histogram);
+            this.error = timer(registry, layer, operation, "error", histogram);
+            // Operations that cannot return a collection get no result size summary
+            this.resultSize = !collectionResult ? null : DistributionSummary.builder(RESULT_SIZE_SUMMARY)
+                    .description("Number of elements returned by an operation")
+                    .tag("layer", layer)
+                    .tag("operation", operation)
+                    .publishPercentileHistogram(histogram)
+                    .register(registry);
+        }
+
+        private static Timer timer(MeterRegistry registry, String layer, String operation, String outcome,
+                                   boolean histogram) {
+            return Timer.builder(OPERATION_TIMER)
+                    .description("Latency of library operations")
+                    .tag("layer", layer)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram(histogram)
+                    .register(registry);
+        }
+
+        private void recordResultSize(Object result) {
+            if (resultSize == null) {
+                return;
+            }
+            Object body = result instanceof ResponseEntity<?> response ? response.getBody() : result;
+            if (body instanceof Collection<?> collection) {
+                resultSize.record(collection.size());
+            }
+        }
+    }
+}
@@ -5,8 +5,11 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 /**
  * Book Entity representing a book in the library system
@@ -17,11 +20,32 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "books")
+@DynamicUpdate
+@Table(name = "books",
+        uniqueConstraints = @UniqueConstraint(name = "uk_books_isbn", columnNames = "isbn"),
+        indexes = {
+                @Index(name = "idx_books_category", columnList = "category"),
+                @Index(name = "idx_books_author", columnList = "author"),
+                @Index(name = "idx_books_title", columnList = "title"),
+                // Flag indexes carry the ID so flag lookups come back in ID order straight from the index
+                @Index(name = "idx_books_featured", columnList = "featured, id"),
+                @Index(name = "idx_books_bestseller", columnList = "bestseller, id")
+        })
 public class Book {
 
+    /**
+     * Number of IDs reserved per sequence call, must match the INCREMENT BY of books_seq
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Name of the database sequence backing the book IDs
+     */
+    public static final String ID_SEQUENCE = "books_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_id_generator")
+    @SequenceGenerator(name = "book_id_generator", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -33,7 +57,7 @@ public class Book {
     @Column(nullable = false)
     private String category;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String isbn;
 
     @Column(nullable = false)
@@ -44,4 +68,29 @@ public class Book {
 
     @Column(nullable = false)
     private Boolean bestseller = false;
+
+    /**
+     * Decorated price materialized at write time, null when decoration happens on read
+     */
+    @Column(name = "display_price")
+    private BigDecimal displayPrice;
+
+    /**
+     * Decorated description materialized at write time, null when decoration happens on read
+     */
+    @Column(length = 1024)
+    private String description;
+
+    /**
+     * Optimistic lock version, incremented by every update and exposed as the ETag of the book
+     */
+    @Version
+    private Long version;
+
+    /**
+     * When the book was last written, exposed as its Last-Modified
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
 }
@@ -0,0 +1,9 @@
+package com.library.bookmanagement.model;
+
+import java.time.Instant;
+
+/**
+ * Validators of a book, enough to answer a conditional GET without loading the book
+ */
+public record BookVersion(Long version, Instant updatedAt) {
+}
@@ -0,0 +1,33 @@
+package com.library.bookmanagement.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Read-only projection of a book with the columns a response needs
+ * Loaded with constructor-expression queries, so no managed entity or dirty-checking snapshot is created
+ */
+public record BookView(Long id,
+                       String title,
+                       String author,
+                       String category,
+                       String isbn,
+                       BigDecimal price,
+                       Boolean featured,
+                       Boolean bestseller,
+                       BigDecimal displayPrice,
+                       String description,
+                       Long version,
+                       Instant updatedAt) {
+
+    /**
+     * Project a loaded book entity
+     * @param book the book entity
+     * @return the projection of the book
+     */
+    public static BookView of(Book book) {
+        return new BookView(book.getId(), book.getTitle(), book.getAuthor(), book.getCategory(), book.getIsbn(),
+                book.getPrice(), book.getFeatured(), book.getBestseller(), book.getDisplayPrice(),
+                book.getDescription(), book.getVersion(), book.getUpdatedAt());
+    }
+}
@@ -1,17 +1,36 @@
 package com.library.bookmanagement.repository;
 
 import com.library.bookmanagement.model.Book;
+import com.library.bookmanagement.model.BookVersion;
+import com.library.bookmanagement.model.BookView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Book entity
  * Provides database access methods
  */
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>, BookRepositoryCustom {
+
+    /**
+     * Select clause of the BookView projection queries
+     */
+    String VIEW_SELECT = "select new com.library.bookmanagement.model.BookView(b.id, b.title, b.author, b.category, "
+            + "b.isbn, b.price, b.featured, b.bestseller, b.displayPrice, b.description, b.version, b.updatedAt) "
+            + "from Book b ";
 
     /**
      * Find books by category
@@ -27,6 +46,13 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      */
     List<Book> findByAuthor(String author);
 
+    /**
+     * Find a book by its ISBN
+     * @param isbn the ISBN to search for
+     * @return Optional containing the book if found
+     */
+    Optional<Book> findByIsbn(String isbn);
+
     /**
      * Find featured books
      * @param featured true to find featured books
@@ -40,4 +66,78 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @return list of bestseller books
      */
     List<Book> findByBestseller(Boolean bestseller);
+
+    /**
+     * Find the version and modification time of a book, without loading its other columns
+     * @param id the book ID
+     * @return Optional containing the validators if the book exists
+     */
+    @Query("select new com.library.bookmanagement.model.BookVersion(b.version, b.updatedAt) from Book b where b.id = :id")
+    Optional<BookVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Find all books as read-only projections ordered by ID
+     * @return list of all books
+     */
+    @Query(VIEW_SELECT + "order by b.id")
+    List<BookView> findAllViews();
+
+    /**
+     * Find books by category as read-only projections ordered by ID
+     * @param category the category to search for
+     * @return list of books in the specified category
+     */
+    @Query(VIEW_SELECT + "where b.category = :category order by b.id")
+    List<BookView> findViewsByCategory(@Param("category") String category);
+
+    /**
+     * Find books by author as read-only projections ordered by ID
+     * @param author the author to search for
+     * @return list of books by the specified author
+     */
+    @Query(VIEW_SELECT + "where b.author = :author order by b.id")
+    List<BookView> findViewsByAuthor(@Param("author") String author);
+
+    /**
+     * Find featured books as read-only projections ordered by ID
+     * @return list of featured books
+     */
+    @Query(VIEW_SELECT + "where b.featured = true order by b.id")
+    List<BookView> findFeaturedViews();
+
+    /**
+     * Find bestseller books as read-only projections ordered by ID
+     * @return list of bestseller books
+     */
+    @Query(VIEW_SELECT + "where b.bestseller = true order by b.id")
+    List<BookView> findBestsellerViews();
+
+    /**
+     * Find the next keyset page of books ordered by ID
+     * @param afterId only books with an ID greater than this are returned
+     * @param limit the maximum number of books to return
+     * @return list of books following the given ID
+     */
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * Stream all books ordered by ID
+     * Rows are fetched from the database in chunks while the stream is consumed,
+     * so the stream must be closed and consumed inside a transaction
+     * @return stream of all books
+     */
+    @Query("select b from Book b order by b.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Book> streamAllOrderedById();
+
+    /**
+     * Find which of the given ISBNs are already in the catalog
+     * @param isbns the ISBNs to check
+     * @return the ISBNs that already exist
+     */
+    @Query("select b.isbn from Book b where b.isbn in :isbns")
+    List<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
 }
@@ -0,0 +1,44 @@
+package com.library.bookmanagement.repository;
+
+import com.library.bookmanagement.dto.BookStatsResponse;
+import com.library.bookmanagement.model.Book;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Custom repository fragment for queries and writes Spring Data cannot derive
+ */
+public interface BookRepositoryCustom {
+
+    /**
+     * Update the given columns of a book with a single UPDATE statement, if its version still matches
+     * The version is incremented as part of the same statement
+     * @param id the book ID
+     * @param expectedVersion the version the caller last read
+     * @param assignments the new values by entity attribute name, null values clear the column
+     * @return the number of updated rows, 0 if the book is missing or its version has moved on
+     */
+    int updateIfVersionMatches(Long id, long expectedVersion, Map<String, Object> assignments);
+
+    /**
+     * Load one page of the books matching a specification with a single SELECT
+     * Unlike findAll(Specification, Pageable), no COUNT query is run for the total
+     * @param specification the filter, may be null to match every book
+     * @param pageable the page and sort to apply in the database, unpaged to load every match
+     * @return the books of the page
+     * @throws ArithmeticException if the page offset does not fit in an int
+     */
+    List<Book> findPage(Specification<Book> specification, Pageable pageable);
+
+    /**
+     * Compute counts and price statistics with one GROUP BY query
+     * Display prices are computed in the database with the multipliers and per-step rounding of the
+     * decoration plans, so no row is loaded into Java
+     * @param groupAttribute the attribute to group by, e.g. "category", or null for the whole catalog
+     * @return one entry per group ordered by key, or a single entry without key for the whole catalog
+     */
+    List<BookStatsResponse.GroupStats> aggregate(String groupAttribute);
+}
@@ -0,0 +1,159 @@
+package com.library.bookmanagement.repository;
+
+import com.library.bookmanagement.decorator.DecorationPlan;
+import com.library.bookmanagement.dto.BookStatsResponse;
+import com.library.bookmanagement.model.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Criteria API implementation of the custom repository fragment
+ */
+@RequiredArgsConstructor
+class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Book> findPage(Specification<Book> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Book> query = cb.createQuery(Book.class);
+        Root<Book> book = query.from(Book.class);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(book, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), book, cb));
+
+        TypedQuery<Book> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult(Math.toIntExact(pageable.getOffset()))
+                    .setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public int updateIfVersionMatches(Long id, long expectedVersion, Map<String, Object> assignments) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Book> update = cb.createCriteriaUpdate(Book.class);
+        Root<Book> book = update.from(Book.class);
+
+        assignments.forEach((attribute, value) -> {
+            Path<Object> path = book.get(attribute);
+            if (value == null) {
+                update.set(path, (Object) null);
+            } else {
+                update.set(path, value);
+            }
+        });
+        Path<Long> version = book.get("version");
+        update.set(version, cb.sum(version, 1L));
+        update.where(cb.equal(book.get("id"), id), cb.equal(version, expectedVersion));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public List<BookStatsResponse.GroupStats> aggregate(String groupAttribute) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> book = query.from(Book.class);
+
+        Path<BigDecimal> price = book.get("price");
+        Predicate featured = cb.isTrue(book.get("featured"));
+        Predicate bestseller = cb.isTrue(book.get("bestseller"));
+        Expression<BigDecimal> displayPrice = cb.<BigDecimal>selectCase()
+                .when(cb.and(featured, bestseller), decorate(cb, price, DecorationPlan.forFlags(true, true)))
+                .when(featured, decorate(cb, price, DecorationPlan.forFlags(true, false)))
+                .when(bestseller, decorate(cb, price, DecorationPlan.forFlags(false, true)))
+                .otherwise(decorate(cb, price, DecorationPlan.forFlags(false, false)));
+
+        List<Selection<?>> selections = new ArrayList<>();
+        if (groupAttribute != null) {
+            Path<String> key = book.get(groupAttribute);
+            selections.add(key.alias("groupKey"));
+            query.groupBy(key).orderBy(cb.asc(key));
+        }
+        selections.add(cb.count(book).alias("books"));
+        selections.add(cb.sumAsLong(cb.<Integer>selectCase().when(featured, 1).otherwise(0)).alias("featuredBooks"));
+        selections.add(cb.sumAsLong(cb.<Integer>selectCase().when(bestseller, 1).otherwise(0)).alias("bestsellerBooks"));
+        selections.add(cb.min(price).alias("minPrice"));
+        selections.add(cb.max(price).alias("maxPrice"));
+        selections.add(cb.sum(price).alias("sumPrice"));
+        selections.add(cb.min(displayPrice).alias("minDisplay"));
+        selections.add(cb.max(displayPrice).alias("maxDisplay"));
+        selections.add(cb.sum(displayPrice).alias("sumDisplay"));
+        query.multiselect(selections);
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(row -> toGroupStats(row, groupAttribute != null))
+                .toList();
+    }
+
+    /**
+     * Build the SQL equivalent of DecorationPlan.applyPrice: multiply and round half up to cents per step
+     * @param cb the criteria builder
+     * @param price the original price
+     * @param plan the decoration plan
+     * @return the decorated price expression
+     */
+    private static Expression<BigDecimal> decorate(CriteriaBuilder cb, Expression<BigDecimal> price, DecorationPlan plan) {
+        Expression<BigDecimal> result = price;
+        for (BigDecimal multiplier : plan.getMultipliers()) {
+            result = cb.round(cb.prod(result, multiplier), 2);
+        }
+        return result;
+    }
+
+    private static BookStatsResponse.GroupStats toGroupStats(Tuple row, boolean grouped) {
+        long count = row.get("books", Long.class);
+        return BookStatsResponse.GroupStats.builder()
+                .key(grouped ? row.get("groupKey", String.class) : null)
+                .count(count)
+                .featuredCount(orZero(row.get("featuredBooks", Long.class)))
+                .bestsellerCount(orZero(row.get("bestsellerBooks", Long.class)))
+                .minOriginalPrice(row.get("minPrice", BigDecimal.class))
+                .maxOriginalPrice(row.get("maxPrice", BigDecimal.class))
+                .avgOriginalPrice(average(row.get("sumPrice", BigDecimal.class), count))
+                .minDisplayPrice(cents(row.get("minDisplay", BigDecimal.class)))
+                .maxDisplayPrice(cents(row.get("maxDisplay", BigDecimal.class)))
+                .avgDisplayPrice(average(row.get("sumDisplay", BigDecimal.class), count))
+                .build();
+    }
+
+    // Averages are taken from exact sums rather than the database's floating point AVG
+    private static BigDecimal average(BigDecimal sum, long count) {
+        return sum == null || count == 0 ? null : sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+
+    // The database keeps the scale of the multiplied expression, display prices are reported in cents
+    private static BigDecimal cents(BigDecimal price) {
+        return price == null ? null : price.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static long orZero(Long value) {
+        return value == null ? 0 : value;
+    }
+}
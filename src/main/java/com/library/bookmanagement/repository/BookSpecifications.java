@@ -0,0 +1,70 @@
+package com.library.bookmanagement.repository;
+
+import com.library.bookmanagement.dto.BookSearchCriteria;
+import com.library.bookmanagement.model.Book;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+
+/**
+ * Specifications for querying books
+ * Combined into one parameterized query so filtering happens in the database
+ */
+public final class BookSpecifications {
+
+    private BookSpecifications() {
+    }
+
+    /**
+     * Build the specification matching all set criteria
+     * @param criteria the search criteria
+     * @return the combined specification
+     */
+    public static Specification<Book> matching(BookSearchCriteria criteria) {
+        return Specification.allOf(
+                hasAuthor(criteria.getAuthor()),
+                hasCategory(criteria.getCategory()),
+                isFeatured(criteria.getFeatured()),
+                isBestseller(criteria.getBestseller()),
+                priceAtLeast(criteria.getMinPrice()),
+                priceAtMost(criteria.getMaxPrice()),
+                titleStartsWith(criteria.getTitlePrefix()));
+    }
+
+    public static Specification<Book> hasAuthor(String author) {
+        return isEmpty(author) ? null : (root, query, cb) -> cb.equal(root.get("author"), author);
+    }
+
+    public static Specification<Book> hasCategory(String category) {
+        return isEmpty(category) ? null : (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<Book> isFeatured(Boolean featured) {
+        return featured == null ? null : (root, query, cb) -> cb.equal(root.get("featured"), featured);
+    }
+
+    public static Specification<Book> isBestseller(Boolean bestseller) {
+        return bestseller == null ? null : (root, query, cb) -> cb.equal(root.get("bestseller"), bestseller);
+    }
+
+    public static Specification<Book> priceAtLeast(BigDecimal minPrice) {
+        return minPrice == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Book> priceAtMost(BigDecimal maxPrice) {
+        return maxPrice == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    public static Specification<Book> titleStartsWith(String prefix) {
+        if (isEmpty(prefix)) {
+            return null;
+        }
+        // Escape LIKE wildcards so the prefix is matched literally and the title index stays usable
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(root.get("title"), pattern, '\\');
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+}
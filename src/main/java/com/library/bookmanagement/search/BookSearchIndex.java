@@ -0,0 +1,307 @@
+package com.library.bookmanagement.search;
+
+import com.library.bookmanagement.event.BookChangedEvent;
+import com.library.bookmanagement.model.Book;
+import com.library.bookmanagement.service.BookService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over book titles and authors
+ * Tokens are case-folded and accent-stripped, every query token matches as a prefix,
+ * and results are ranked so exact title matches come first
+ * The query token with the smallest postings drives the search, and scoring is bounded by a cap on the books
+ * matching every token: exact matches of the driving token are scanned before its prefix matches,
+ * so one- or two-letter autocomplete prefixes cost the same as selective ones on any catalog size
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final int TITLE_EXACT_SCORE = 3;
+    private static final int TITLE_PREFIX_SCORE = 2;
+    private static final int AUTHOR_EXACT_SCORE = 2;
+    private static final int AUTHOR_PREFIX_SCORE = 1;
+
+    private final BookService bookService;
+
+    @Value("${library.search.max-candidates:1000}")
+    private int maxCandidates;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedBook> documents = new HashMap<>();
+    private final TreeMap<String, Set<Long>> titlePostings = new TreeMap<>();
+    private final TreeMap<String, Set<Long>> authorPostings = new TreeMap<>();
+
+    /**
+     * Build the index from the repository once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.info("Building book search index");
+        long start = System.nanoTime();
+        bookService.streamAllBooks(this::index);
+        log.info("Book search index built - documents: {}, duration: {} ms",
+                size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Apply a committed book change to the index
+     * @param event the book change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.getType() == BookChangedEvent.Type.DELETED) {
+            remove(event.getBookId());
+        } else if (event.getBook() != null) {
+            index(event.getBook());
+        } else {
+            bookService.getBookById(event.getBookId()).ifPresent(this::index);
+        }
+    }
+
+    /**
+     * Add or replace a book in the index
+     * @param book the book to index
+     */
+    public void index(Book book) {
+        IndexedBook document = new IndexedBook(book.getId(), book.getTitle(),
+                tokenize(book.getTitle()), tokenize(book.getAuthor()));
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(book.getId());
+            documents.put(document.id(), document);
+            document.titleTokens().forEach(token -> titlePostings.computeIfAbsent(token, t -> new HashSet<>()).add(document.id()));
+            document.authorTokens().forEach(token -> authorPostings.computeIfAbsent(token, t -> new HashSet<>()).add(document.id()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a book from the index
+     * @param id the book ID
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Search the index
+     * Every query token must match a title or author token by prefix
+     * @param query the free-text query
+     * @param limit the maximum number of results
+     * @return the IDs of the best matching books, best first
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Comparator<ScoredBook> worstFirst = Comparator.comparingInt(ScoredBook::score)
+                .thenComparing(scored -> scored.document().title().length(), Comparator.reverseOrder())
+                .thenComparing(scored -> scored.document().id(), Comparator.reverseOrder());
+        PriorityQueue<ScoredBook> top = new PriorityQueue<>(limit + 1, worstFirst);
+
+        lock.readLock().lock();
+        try {
+            // Drive the search from the most selective token, the others filter its books
+            List<Set<Long>> driver = queryTokens.stream()
+                    .map(this::postingsOf)
+                    .min(Comparator.comparingLong(BookSearchIndex::totalSize))
+                    .orElseThrow();
+
+            Set<Long> seen = new HashSet<>();
+            int candidates = 0;
+            for (Set<Long> ids : driver) {
+                for (Long id : ids) {
+                    if (!seen.add(id)) {
+                        continue;
+                    }
+                    IndexedBook document = documents.get(id);
+                    int score = score(document, queryTokens);
+                    if (score == 0) {
+                        continue;
+                    }
+                    top.offer(new ScoredBook(document, score));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                    if (++candidates >= maxCandidates) {
+                        return ranked(top);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ranked(top);
+    }
+
+    /**
+     * Drain the best matches
+     * @param top the heap of the best matches
+     * @return the book IDs, best first
+     */
+    private static List<Long> ranked(PriorityQueue<ScoredBook> top) {
+        List<Long> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add(top.poll().document().id());
+        }
+        // The heap yields the worst match first
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    /**
+     * Get the number of indexed books
+     * @return the number of documents
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Score a document against all query tokens
+     * @param document the indexed book
+     * @param queryTokens the query tokens
+     * @return the score, 0 if any token does not match
+     */
+    private static int score(IndexedBook document, List<String> queryTokens) {
+        int total = 0;
+        for (String queryToken : queryTokens) {
+            int best = Math.max(
+                    bestMatch(document.titleTokens(), queryToken, TITLE_EXACT_SCORE, TITLE_PREFIX_SCORE),
+                    bestMatch(document.authorTokens(), queryToken, AUTHOR_EXACT_SCORE, AUTHOR_PREFIX_SCORE));
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static int bestMatch(List<String> tokens, String queryToken, int exactScore, int prefixScore) {
+        int best = 0;
+        for (String token : tokens) {
+            if (token.equals(queryToken)) {
+                return exactScore;
+            }
+            if (token.startsWith(queryToken)) {
+                best = prefixScore;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Get the posting lists a query token matches, exact title and author matches first, then prefix matches
+     * @param queryToken the query token
+     * @return the posting lists
+     */
+    private List<Set<Long>> postingsOf(String queryToken) {
+        List<Set<Long>> postings = new ArrayList<>();
+        for (TreeMap<String, Set<Long>> field : List.of(titlePostings, authorPostings)) {
+            Set<Long> exact = field.get(queryToken);
+            if (exact != null) {
+                postings.add(exact);
+            }
+        }
+        for (TreeMap<String, Set<Long>> field : List.of(titlePostings, authorPostings)) {
+            postings.addAll(field.subMap(queryToken, false, queryToken + Character.MAX_VALUE, false).values());
+        }
+        return postings;
+    }
+
+    /**
+     * Get the number of postings, an upper bound of the books a query token matches
+     * @param postings the posting lists
+     * @return the total size
+     */
+    private static long totalSize(List<Set<Long>> postings) {
+        long total = 0;
+        for (Set<Long> ids : postings) {
+            total += ids.size();
+        }
+        return total;
+    }
+
+    private void removeUnlocked(Long id) {
+        IndexedBook previous = documents.remove(id);
+        if (previous != null) {
+            previous.titleTokens().forEach(token -> removePosting(titlePostings, token, id));
+            previous.authorTokens().forEach(token -> removePosting(authorPostings, token, id));
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Long>> postings, String token, Long id) {
+        Set<Long> ids = postings.get(token);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            postings.remove(token);
+        }
+    }
+
+    /**
+     * Split text into case-folded, accent-stripped tokens
+     * @param text the text, may be null
+     * @return the distinct tokens in order of appearance
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(folded)) {
+            if (!token.isEmpty() && !tokens.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private record IndexedBook(Long id, String title, List<String> titleTokens, List<String> authorTokens) {
+    }
+
+    private record ScoredBook(IndexedBook document, int score) {
+    }
+}
@@ -0,0 +1,573 @@
+package com.library.bookmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.bookmanagement.dto.BookImportResult;
+import com.library.bookmanagement.dto.CreateBookRequest;
+import com.library.bookmanagement.event.BookChangedEvent;
+import com.library.bookmanagement.model.Book;
+import com.library.bookmanagement.repository.BookRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for bulk catalog loads
+ * Rows are validated and written in chunks, each chunk with one JDBC batch insert in its own transaction
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookImportService {
+
+    private static final String INSERT_SQL = "INSERT INTO books "
+            + "(id, title, author, category, isbn, price, featured, bestseller, display_price, description, version, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)";
+
+    private static final String NEXT_ID_BLOCK_SQL = "SELECT NEXT VALUE FOR " + Book.ID_SEQUENCE;
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("title", "author", "category", "isbn", "price", "featured", "bestseller");
+
+    /**
+     * Supported upload formats
+     */
+    public enum Format {
+        JSON,
+        NDJSON,
+        CSV
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookRepository bookRepository;
+    private final BookService bookService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${library.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${library.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    /**
+     * Import books from an uploaded stream
+     * The stream is read incrementally, so only one chunk of rows is held in memory at a time
+     * @param inputStream the uploaded content
+     * @param format the format of the content
+     * @return the import summary with per-row errors
+     * @throws IOException if the stream cannot be read
+     */
+    public BookImportResult importBooks(InputStream inputStream, Format format) throws IOException {
+        log.info("Importing books from {} upload", format);
+        return switch (format) {
+            case JSON -> importRows(jsonRows(inputStream));
+            case NDJSON -> importRows(lineRows(reader(inputStream), this::readJson));
+            case CSV -> {
+                BufferedReader reader = reader(inputStream);
+                yield importRows(lineRows(reader, csvParser(reader.readLine())));
+            }
+        };
+    }
+
+    /**
+     * Import rows chunk by chunk
+     * @param rows the parsed rows
+     * @return the import summary
+     */
+    private BookImportResult importRows(Iterator<ImportRow> rows) {
+        long start = System.nanoTime();
+        ImportProgress progress = new ImportProgress(maxReportedErrors);
+
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == chunkSize) {
+                progress.received += chunk.size();
+                importChunk(chunk, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            progress.received += chunk.size();
+            importChunk(chunk, progress);
+        }
+
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Import finished - received: {}, imported: {}, failed: {}, aborted: {}, duration: {} ms",
+                progress.received, progress.imported, progress.failed, progress.aborted, durationMillis);
+
+        return BookImportResult.builder()
+                .received(progress.received)
+                .imported(progress.imported)
+                .failed(progress.failed)
+                .aborted(progress.aborted)
+                .durationMillis(durationMillis)
+                .errors(progress.errors)
+                .build();
+    }
+
+    /**
+     * Validate and insert a batch of create requests in one chunk
+     * Used by writers that need the outcome of every individual request
+     * @param requests the create requests, at most one chunk worth
+     * @return the outcome of each request, in request order
+     */
+    public List<RowResult> importBatch(List<CreateBookRequest> requests) {
+        List<ImportRow> rows = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            rows.add(new ImportRow(i + 1, requests.get(i), null));
+        }
+
+        RowResult[] results = new RowResult[requests.size()];
+        importChunk(rows, new ChunkOutcome() {
+            @Override
+            public void imported(ImportRow row, Book book) {
+                results[(int) row.rowNumber() - 1] = new RowResult(book, null);
+            }
+
+            @Override
+            public void rejected(ImportRow row, String message) {
+                results[(int) row.rowNumber() - 1] = new RowResult(null, message);
+            }
+        });
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Validate and insert one chunk of rows
+     * @param chunk the rows of the chunk
+     * @param outcome receives the outcome of every row
+     */
+    private void importChunk(List<ImportRow> chunk, ChunkOutcome outcome) {
+
+        // Validate rows and drop ISBNs repeated within the chunk
+        Map<String, ImportRow> candidates = new LinkedHashMap<>();
+        for (ImportRow row : chunk) {
+            String error = row.error() != null ? row.error() : validate(row.request());
+            if (error == null && candidates.containsKey(row.request().getIsbn())) {
+                error = "Duplicate ISBN in import: " + row.request().getIsbn();
+            }
+            if (error != null) {
+                outcome.rejected(row, error);
+            } else {
+                candidates.put(row.request().getIsbn(), row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // Reject ISBNs already in the catalog, including those from earlier chunks, with one IN query
+        for (String isbn : bookRepository.findExistingIsbns(candidates.keySet())) {
+            ImportRow row = candidates.remove(isbn);
+            if (row != null) {
+                outcome.rejected(row, "Book with ISBN already exists: " + isbn);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<ImportRow> rows = new ArrayList<>(candidates.values());
+        List<Book> books = rows.stream()
+                .map(row -> toBook(row.request()))
+                .collect(Collectors.toList());
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertBatch(books));
+            for (int i = 0; i < books.size(); i++) {
+                outcome.imported(rows.get(i), books.get(i));
+            }
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent writer took one of the ISBNs, or a value does not fit its column:
+            // retry row by row to isolate the failing rows
+            // The rows keep the IDs drawn for the batch, sequence values are not rolled back with it
+            log.warn("Batch insert failed, retrying {} rows individually: {}", books.size(), ex.getMessage());
+            for (int i = 0; i < books.size(); i++) {
+                Book book = books.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertBatch(List.of(book)));
+                    outcome.imported(rows.get(i), book);
+                } catch (DataIntegrityViolationException rowEx) {
+                    outcome.rejected(rows.get(i), rowRejection(book, rowEx));
+                }
+            }
+        }
+    }
+
+    /**
+     * Describe why a single row could not be inserted
+     * @param book the rejected book
+     * @param ex the violation raised by its insert
+     * @return the duplicate ISBN message if the ISBN is taken, otherwise the database's own message
+     */
+    private String rowRejection(Book book, DataIntegrityViolationException ex) {
+        if (!bookRepository.findExistingIsbns(List.of(book.getIsbn())).isEmpty()) {
+            return "Book with ISBN already exists: " + book.getIsbn();
+        }
+        return "Row rejected by the database: " + ex.getMostSpecificCause().getMessage();
+    }
+
+    /**
+     * Insert books with one JDBC batch and publish their creation events
+     * IDs are drawn from the same pooled-lo sequence blocks Hibernate uses, one sequence call per block;
+     * books that already have one (rows retried after a failed batch) keep it
+     * Must run inside a transaction
+     * @param books the books to insert
+     */
+    private void insertBatch(List<Book> books) {
+        long nextId = 0;
+        long blockEnd = 0;
+        Instant now = Instant.now();
+        for (Book book : books) {
+            if (book.getId() == null) {
+                if (nextId == blockEnd) {
+                    nextId = jdbcTemplate.queryForObject(NEXT_ID_BLOCK_SQL, Long.class);
+                    blockEnd = nextId + Book.ID_ALLOCATION_SIZE;
+                }
+                book.setId(nextId++);
+            }
+            book.setVersion(0L);
+            book.setUpdatedAt(now);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Book book = books.get(i);
+                ps.setLong(1, book.getId());
+                ps.setString(2, book.getTitle());
+                ps.setString(3, book.getAuthor());
+                ps.setString(4, book.getCategory());
+                ps.setString(5, book.getIsbn());
+                ps.setBigDecimal(6, book.getPrice());
+                ps.setBoolean(7, book.getFeatured());
+                ps.setBoolean(8, book.getBestseller());
+                ps.setObject(9, book.getDisplayPrice(), Types.NUMERIC);
+                ps.setObject(10, book.getDescription(), Types.VARCHAR);
+                ps.setObject(11, book.getUpdatedAt().atOffset(ZoneOffset.UTC));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return books.size();
+            }
+        });
+
+        books.forEach(book -> eventPublisher.publishEvent(
+                new BookChangedEvent(BookChangedEvent.Type.CREATED, book.getId(), book)));
+    }
+
+    /**
+     * Validate a parsed row
+     * @param request the parsed row
+     * @return the validation error message, null when the row is valid
+     */
+    private String validate(CreateBookRequest request) {
+        if (request == null) {
+            return "Empty row";
+        }
+        Set<ConstraintViolation<CreateBookRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Build a book entity from a validated row
+     * @param request the validated row
+     * @return the book with its display values materialized
+     */
+    private Book toBook(CreateBookRequest request) {
+        Book book = Book.builder()
+                .title(request.getTitle())
+                .author(request.getAuthor())
+                .category(request.getCategory())
+                .isbn(request.getIsbn())
+                .price(request.getPrice())
+                .featured(request.getFeatured())
+                .bestseller(request.getBestseller())
+                .build();
+        bookService.applyDecorations(book);
+        return book;
+    }
+
+    /**
+     * Iterate the elements of a JSON array upload
+     * @param inputStream the uploaded content
+     * @return the parsed rows
+     * @throws IOException if the stream cannot be read
+     */
+    private Iterator<ImportRow> jsonRows(InputStream inputStream) throws IOException {
+        MappingIterator<CreateBookRequest> values = objectMapper.readerFor(CreateBookRequest.class)
+                .readValues(inputStream);
+        return new Iterator<>() {
+            private long rowNumber;
+            private String syntaxError;
+
+            @Override
+            public boolean hasNext() {
+                if (syntaxError != null) {
+                    return false;
+                }
+                try {
+                    return values.hasNextValue();
+                } catch (IOException ex) {
+                    // Broken array syntax, the rest of the upload cannot be located: end with one rejected row
+                    syntaxError = "Malformed JSON after row " + rowNumber + ": " + originalMessage(ex);
+                    return true;
+                }
+            }
+
+            @Override
+            public ImportRow next() {
+                rowNumber++;
+                if (syntaxError != null) {
+                    return new ImportRow(rowNumber, null, syntaxError, true);
+                }
+                try {
+                    return new ImportRow(rowNumber, values.nextValue(), null);
+                } catch (JsonMappingException ex) {
+                    // A well-formed element that does not fit a book, the iterator resumes at the next element
+                    return new ImportRow(rowNumber, null, "Unparseable row: " + ex.getOriginalMessage());
+                } catch (IOException ex) {
+                    syntaxError = "Malformed JSON at row " + rowNumber + ": " + originalMessage(ex);
+                    return new ImportRow(rowNumber, null, syntaxError, true);
+                }
+            }
+        };
+    }
+
+    private static String originalMessage(IOException ex) {
+        return ex instanceof JsonProcessingException json ? json.getOriginalMessage() : ex.getMessage();
+    }
+
+    /**
+     * Iterate the non-blank lines of a line-oriented upload
+     * Lines that cannot be parsed become rejected rows instead of aborting the import
+     * @param reader the reader positioned on the first data line
+     * @param parser function parsing one line
+     * @return the parsed rows
+     */
+    private Iterator<ImportRow> lineRows(BufferedReader reader, Function<String, CreateBookRequest> parser) {
+        AtomicLong rowNumber = new AtomicLong();
+        return reader.lines()
+                .filter(line -> !line.isBlank())
+                .map(line -> {
+                    long row = rowNumber.incrementAndGet();
+                    try {
+                        return new ImportRow(row, parser.apply(line), null);
+                    } catch (RuntimeException ex) {
+                        return new ImportRow(row, null, "Unparseable row: " + ex.getMessage());
+                    }
+                })
+                .iterator();
+    }
+
+    /**
+     * Parse one NDJSON line
+     * @param line the line
+     * @return the parsed row
+     */
+    private CreateBookRequest readJson(String line) {
+        try {
+            return objectMapper.readValue(line, CreateBookRequest.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException(ex.getOriginalMessage(), ex);
+        }
+    }
+
+    /**
+     * Build a CSV line parser from the header line
+     * @param header the header line naming the columns
+     * @return function parsing one data line
+     */
+    private Function<String, CreateBookRequest> csvParser(String header) {
+        if (header == null) {
+            throw new IllegalArgumentException("CSV upload is empty");
+        }
+        List<String> names = parseCsvLine(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(), i);
+        }
+        for (String column : CSV_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + column);
+            }
+        }
+
+        return line -> {
+            List<String> fields = parseCsvLine(line);
+            String price = field(fields, columns.get("price"));
+            String featured = field(fields, columns.get("featured"));
+            String bestseller = field(fields, columns.get("bestseller"));
+            return CreateBookRequest.builder()
+                    .title(field(fields, columns.get("title")))
+                    .author(field(fields, columns.get("author")))
+                    .category(field(fields, columns.get("category")))
+                    .isbn(field(fields, columns.get("isbn")))
+                    .price(price == null ? null : new BigDecimal(price))
+                    .featured(featured == null ? null : Boolean.valueOf(featured))
+                    .bestseller(bestseller == null ? null : Boolean.valueOf(bestseller))
+                    .build();
+        };
+    }
+
+    /**
+     * Get a trimmed CSV field
+     * @param fields the fields of the line
+     * @param index the column index
+     * @return the field value, null when missing or empty
+     */
+    private static String field(List<String> fields, int index) {
+        if (index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Split a CSV line into fields, honouring double-quoted fields and escaped quotes
+     * @param line the line
+     * @return the fields
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static BufferedReader reader(InputStream inputStream) {
+        return new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A parsed upload row, either a request or the error that prevented parsing it
+     * A terminal row reports a syntax error after which the rest of the upload cannot be read
+     */
+    private record ImportRow(long rowNumber, CreateBookRequest request, String error, boolean terminal) {
+
+        private ImportRow(long rowNumber, CreateBookRequest request, String error) {
+            this(rowNumber, request, error, false);
+        }
+    }
+
+    /**
+     * Outcome of a single create request of a batch
+     * @param book the inserted book, null when rejected
+     * @param error the rejection message, null when inserted
+     */
+    public record RowResult(Book book, String error) {
+
+        public boolean isImported() {
+            return book != null;
+        }
+    }
+
+    /**
+     * Receives the outcome of every row of a chunk
+     */
+    private interface ChunkOutcome {
+
+        void imported(ImportRow row, Book book);
+
+        void rejected(ImportRow row, String message);
+    }
+
+    /**
+     * Running counters of an import
+     */
+    private static final class ImportProgress implements ChunkOutcome {
+        private final int maxReportedErrors;
+        private final List<BookImportResult.RowError> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long failed;
+        private boolean aborted;
+
+        private ImportProgress(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        @Override
+        public void imported(ImportRow row, Book book) {
+            imported++;
+        }
+
+        @Override
+        public void rejected(ImportRow row, String message) {
+            aborted |= row.terminal();
+            failed++;
+            if (errors.size() < maxReportedErrors || row.terminal()) {
+                errors.add(BookImportResult.RowError.builder()
+                        .row(row.rowNumber())
+                        .isbn(row.request() == null ? null : row.request().getIsbn())
+                        .message(message)
+                        .build());
+            }
+        }
+    }
+}
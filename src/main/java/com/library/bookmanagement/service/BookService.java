@@ -1,14 +1,37 @@
 package com.library.bookmanagement.service;
 
+import com.library.bookmanagement.decorator.BookComponent;
+import com.library.bookmanagement.dto.BookSearchCriteria;
+import com.library.bookmanagement.dto.BookStatsResponse;
+import com.library.bookmanagement.dto.UpdateBookRequest;
+import com.library.bookmanagement.decorator.BookDecorations;
+import com.library.bookmanagement.event.BookChangedEvent;
+import com.library.bookmanagement.exception.PreconditionFailedException;
 import com.library.bookmanagement.model.Book;
+import com.library.bookmanagement.model.BookVersion;
+import com.library.bookmanagement.model.BookView;
 import com.library.bookmanagement.repository.BookRepository;
+import com.library.bookmanagement.repository.BookSpecifications;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service class for Book entity
@@ -19,7 +42,20 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class BookService {
 
+    /**
+     * Attributes the materialized display price and description are derived from
+     */
+    private static final Set<String> DECORATION_INPUTS = Set.of("title", "author", "price", "featured", "bestseller");
+
     private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${library.decoration.materialized:true}")
+    private boolean materializeDecorations;
+
+    @Value("${library.batch-get.chunk-size:256}")
+    private int idChunkSize;
 
     /**
      * Add a new book to the library
@@ -29,16 +65,58 @@ public class BookService {
     @Transactional
     public Book addBook(Book book) {
         log.info("Adding new book: {}", book.getTitle());
-        return bookRepository.save(book);
+        applyDecorations(book);
+        Book savedBook = bookRepository.save(book);
+        eventPublisher.publishEvent(new BookChangedEvent(BookChangedEvent.Type.CREATED, savedBook.getId(), savedBook));
+        return savedBook;
     }
 
     /**
      * Get all books in the library
-     * @return list of all books
+     * @return list of all books, as read-only projections ordered by ID
      */
-    public List<Book> getAllBooks() {
+    @Transactional(readOnly = true)
+    public List<BookView> getAllBooks() {
         log.info("Retrieving all books");
-        return bookRepository.findAll();
+        return bookRepository.findAllViews();
+    }
+
+    /**
+     * Count the books in the library
+     * @return the number of books
+     */
+    @Transactional(readOnly = true)
+    public long countBooks() {
+        return bookRepository.count();
+    }
+
+    /**
+     * Get a keyset page of books ordered by ID
+     * @param afterId the ID of the last book of the previous page (0 for the first page)
+     * @param limit the maximum number of books to return
+     * @return list of books following the given ID
+     */
+    @Transactional(readOnly = true)
+    public List<Book> getBooksAfter(Long afterId, int limit) {
+        log.info("Retrieving up to {} books after ID: {}", limit, afterId);
+        return bookRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+    }
+
+    /**
+     * Stream all books ordered by ID to the given consumer
+     * Each book is detached once consumed so the persistence context stays small
+     * regardless of the catalog size
+     * @param consumer the consumer receiving each book
+     */
+    @Transactional(readOnly = true)
+    public void streamAllBooks(Consumer<Book> consumer) {
+        log.info("Streaming all books");
+        try (Stream<Book> books = bookRepository.streamAllOrderedById()) {
+            books.forEach(book -> {
+                consumer.accept(book);
+                entityManager.detach(book);
+            });
+        }
     }
 
     /**
@@ -52,26 +130,114 @@ public class BookService {
     }
 
     /**
-     * Update an existing book
+     * Get the version and modification time of a book
+     * @param id the book ID
+     * @return Optional containing the validators if the book exists
+     */
+    public Optional<BookVersion> getBookVersion(Long id) {
+        return bookRepository.findVersionById(id);
+    }
+
+    /**
+     * Get the books with the given IDs
+     * Large ID sets are split into chunks, one IN query per chunk, all in the same read-only transaction
+     * @param ids the book IDs
+     * @return the books found, in no particular order
+     */
+    @Transactional(readOnly = true)
+    public List<Book> getBooksByIds(Collection<Long> ids) {
+        log.info("Retrieving {} books by ID", ids.size());
+        if (ids.size() <= idChunkSize) {
+            return bookRepository.findAllById(ids);
+        }
+        List<Long> idList = List.copyOf(ids);
+        List<Book> books = new ArrayList<>(idList.size());
+        for (int from = 0; from < idList.size(); from += idChunkSize) {
+            books.addAll(bookRepository.findAllById(idList.subList(from, Math.min(from + idChunkSize, idList.size()))));
+        }
+        return books;
+    }
+
+    /**
+     * Get a book by its ISBN
+     * @param isbn the book ISBN
+     * @return Optional containing the book if found
+     */
+    public Optional<Book> getBookByIsbn(String isbn) {
+        log.info("Retrieving book with ISBN: {}", isbn);
+        return bookRepository.findByIsbn(isbn);
+    }
+
+    /**
+     * Update the supplied fields of a book after reading it
+     * Only the changed columns are written and the version is checked on flush
      * @param id the book ID
-     * @param bookDetails the updated book details
+     * @param changes the fields to change, null fields are left as they are
      * @return the updated book
      */
     @Transactional
-    public Book updateBook(Long id, Book bookDetails) {
+    public Book updateBook(Long id, UpdateBookRequest changes) {
         log.info("Updating book with ID: {}", id);
+        assignments(changes);
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Book not found with id: " + id));
 
-        book.setTitle(bookDetails.getTitle());
-        book.setAuthor(bookDetails.getAuthor());
-        book.setCategory(bookDetails.getCategory());
-        book.setIsbn(bookDetails.getIsbn());
-        book.setPrice(bookDetails.getPrice());
-        book.setFeatured(bookDetails.getFeatured());
-        book.setBestseller(bookDetails.getBestseller());
+        if (changes.getTitle() != null) {
+            book.setTitle(changes.getTitle());
+        }
+        if (changes.getAuthor() != null) {
+            book.setAuthor(changes.getAuthor());
+        }
+        if (changes.getCategory() != null) {
+            book.setCategory(changes.getCategory());
+        }
+        if (changes.getIsbn() != null) {
+            book.setIsbn(changes.getIsbn());
+        }
+        if (changes.getPrice() != null) {
+            book.setPrice(changes.getPrice());
+        }
+        if (changes.getFeatured() != null) {
+            book.setFeatured(changes.getFeatured());
+        }
+        if (changes.getBestseller() != null) {
+            book.setBestseller(changes.getBestseller());
+        }
+        // Also restores decorations cleared by an earlier conditional update
+        applyDecorations(book);
+
+        Book savedBook = bookRepository.saveAndFlush(book);
+        eventPublisher.publishEvent(new BookChangedEvent(BookChangedEvent.Type.UPDATED, id, savedBook));
+        return savedBook;
+    }
+
+    /**
+     * Update the supplied fields of a book without reading it, if it is still at the expected version
+     * Materialized decorations are cleared when their inputs change, so reads decorate the book on the fly
+     * @param id the book ID
+     * @param expectedVersion the version the client last read
+     * @param changes the fields to change, null fields are left as they are
+     * @return the new version of the book
+     * @throws PreconditionFailedException if the book has been modified since the expected version
+     */
+    @Transactional
+    public long updateBook(Long id, long expectedVersion, UpdateBookRequest changes) {
+        log.info("Updating book with ID: {} at version: {}", id, expectedVersion);
+        Map<String, Object> assignments = assignments(changes);
+        if (assignments.keySet().stream().anyMatch(DECORATION_INPUTS::contains)) {
+            assignments.put("displayPrice", null);
+            assignments.put("description", null);
+        }
+        assignments.put("updatedAt", Instant.now());
 
-        return bookRepository.save(book);
+        if (bookRepository.updateIfVersionMatches(id, expectedVersion, assignments) == 0) {
+            if (!bookRepository.existsById(id)) {
+                throw new RuntimeException("Book not found with id: " + id);
+            }
+            throw new PreconditionFailedException("Book " + id + " has been modified since version " + expectedVersion);
+        }
+        eventPublisher.publishEvent(new BookChangedEvent(BookChangedEvent.Type.UPDATED, id, null));
+        return expectedVersion + 1;
     }
 
     /**
@@ -82,43 +248,118 @@ public class BookService {
     public void deleteBook(Long id) {
         log.info("Deleting book with ID: {}", id);
         bookRepository.deleteById(id);
+        eventPublisher.publishEvent(new BookChangedEvent(BookChangedEvent.Type.DELETED, id, null));
     }
 
     /**
      * Find books by category
      * @param category the category to search for
-     * @return list of books in the specified category
+     * @return list of books in the specified category, as read-only projections ordered by ID
      */
-    public List<Book> findByCategory(String category) {
+    @Transactional(readOnly = true)
+    public List<BookView> findByCategory(String category) {
         log.info("Finding books by category: {}", category);
-        return bookRepository.findByCategory(category);
+        return bookRepository.findViewsByCategory(category);
     }
 
     /**
      * Find books by author
      * @param author the author to search for
-     * @return list of books by the specified author
+     * @return list of books by the specified author, as read-only projections ordered by ID
      */
-    public List<Book> findByAuthor(String author) {
+    @Transactional(readOnly = true)
+    public List<BookView> findByAuthor(String author) {
         log.info("Finding books by author: {}", author);
-        return bookRepository.findByAuthor(author);
+        return bookRepository.findViewsByAuthor(author);
+    }
+
+    /**
+     * Search books matching all set criteria with one database query
+     * @param criteria the search criteria
+     * @param pageable the page and sort to apply in the database
+     * @return the matching books of the requested page
+     */
+    @Transactional(readOnly = true)
+    public List<Book> searchBooks(BookSearchCriteria criteria, Pageable pageable) {
+        log.info("Searching books: {}", criteria);
+        return bookRepository.findPage(BookSpecifications.matching(criteria), pageable);
+    }
+
+    /**
+     * Compute counts and price statistics for the whole catalog, per category and per author
+     * Each grouping is a single GROUP BY query
+     * @return the catalog statistics
+     */
+    @Transactional(readOnly = true)
+    public BookStatsResponse getStats() {
+        log.info("Computing catalog statistics");
+        return BookStatsResponse.builder()
+                .total(bookRepository.aggregate(null).get(0))
+                .byCategory(bookRepository.aggregate("category"))
+                .byAuthor(bookRepository.aggregate("author"))
+                .build();
     }
 
     /**
      * Find featured books
-     * @return list of featured books
+     * @return list of featured books, as read-only projections ordered by ID
      */
-    public List<Book> findFeaturedBooks() {
+    @Transactional(readOnly = true)
+    public List<BookView> findFeaturedBooks() {
         log.info("Finding featured books");
-        return bookRepository.findByFeatured(true);
+        return bookRepository.findFeaturedViews();
     }
 
     /**
      * Find bestseller books
-     * @return list of bestseller books
+     * @return list of bestseller books, as read-only projections ordered by ID
      */
-    public List<Book> findBestsellers() {
+    @Transactional(readOnly = true)
+    public List<BookView> findBestsellers() {
         log.info("Finding bestseller books");
-        return bookRepository.findByBestseller(true);
+        return bookRepository.findBestsellerViews();
+    }
+
+    /**
+     * Collect the supplied fields of an update by entity attribute name
+     * @param changes the update request
+     * @return the non-null fields, in a mutable map
+     * @throws IllegalArgumentException if no field is supplied
+     */
+    private static Map<String, Object> assignments(UpdateBookRequest changes) {
+        Map<String, Object> assignments = new LinkedHashMap<>();
+        putIfPresent(assignments, "title", changes.getTitle());
+        putIfPresent(assignments, "author", changes.getAuthor());
+        putIfPresent(assignments, "category", changes.getCategory());
+        putIfPresent(assignments, "isbn", changes.getIsbn());
+        putIfPresent(assignments, "price", changes.getPrice());
+        putIfPresent(assignments, "featured", changes.getFeatured());
+        putIfPresent(assignments, "bestseller", changes.getBestseller());
+        if (assignments.isEmpty()) {
+            throw new IllegalArgumentException("At least one field must be supplied");
+        }
+        return assignments;
+    }
+
+    private static void putIfPresent(Map<String, Object> assignments, String attribute, Object value) {
+        if (value != null) {
+            assignments.put(attribute, value);
+        }
+    }
+
+    /**
+     * Materialize the decorated display price and description on the book
+     * When materialization is disabled the stored values are cleared so reads decorate on the fly
+     * @param book the book to update
+     */
+    void applyDecorations(Book book) {
+        if (materializeDecorations) {
+            BookComponent bookComponent = BookDecorations.decorate(book);
+            book.setDisplayPrice(bookComponent.getPrice());
+            book.setDescription(bookComponent.getDescription());
+        } else {
+            book.setDisplayPrice(null);
+            book.setDescription(null);
+        }
     }
 }
@@ -0,0 +1,251 @@
+package com.library.bookmanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.library.bookmanagement.dto.BookWriteStatus;
+import com.library.bookmanagement.dto.CreateBookRequest;
+import com.library.bookmanagement.exception.WriteQueueFullException;
+import com.library.bookmanagement.metrics.Untimed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional write-behind queue for book creation
+ * Creates are accepted into a bounded queue and a single writer coalesces them into batched transactions,
+ * flushing when a batch is full or the oldest write has waited for the maximum delay
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookWriteBehindQueue {
+
+    /**
+     * When a queued create is acknowledged to the client
+     */
+    public enum Durability {
+        /**
+         * As soon as the write is queued, with a tracking ID
+         */
+        ACCEPTED,
+        /**
+         * Once the batch containing the write has committed
+         */
+        GROUP_COMMIT
+    }
+
+    private final BookImportService bookImportService;
+
+    @Value("${library.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${library.write-behind.durability:GROUP_COMMIT}")
+    private Durability durability;
+
+    @Value("${library.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${library.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${library.write-behind.max-delay:20ms}")
+    private Duration maxDelay;
+
+    @Value("${library.write-behind.offer-timeout:100ms}")
+    private Duration offerTimeout;
+
+    @Value("${library.write-behind.status-ttl:10m}")
+    private Duration statusTtl;
+
+    private BlockingQueue<PendingWrite> queue;
+    private Cache<String, BookWriteStatus> statuses;
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        statuses = Caffeine.newBuilder()
+                .expireAfterWrite(statusTtl)
+                .maximumSize(queueCapacity * 10L)
+                .build();
+        running = true;
+        writer = new Thread(this::runWriter, "book-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Write-behind queue started - durability: {}, capacity: {}, batch size: {}, max delay: {}",
+                durability, queueCapacity, batchSize, maxDelay);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // Let the writer drain what is already queued before the context closes
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        log.info("Write-behind queue stopped - unwritten: {}", queue.size());
+    }
+
+    /**
+     * Check whether creates go through the queue
+     * @return true if the write-behind mode is enabled
+     */
+    @Untimed
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the configured durability mode
+     * @return the durability mode
+     */
+    @Untimed
+    public Durability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Queue a create request
+     * @param request the validated create request
+     * @return the pending write with its tracking ID and completion future
+     * @throws WriteQueueFullException if the queue stays full for the offer timeout
+     */
+    public PendingWrite submit(CreateBookRequest request) {
+        PendingWrite write = new PendingWrite(UUID.randomUUID().toString(), request, new CompletableFuture<>());
+        statuses.put(write.trackingId(), BookWriteStatus.builder()
+                .trackingId(write.trackingId())
+                .state(BookWriteStatus.State.PENDING)
+                .build());
+
+        boolean accepted;
+        try {
+            accepted = running && queue.offer(write, offerTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            statuses.invalidate(write.trackingId());
+            throw new WriteQueueFullException("Write queue is full, retry later");
+        }
+        return write;
+    }
+
+    /**
+     * Get the status of a queued write
+     * @param trackingId the tracking ID returned on submission
+     * @return the status, empty when unknown or expired
+     */
+    public Optional<BookWriteStatus> getStatus(String trackingId) {
+        return statuses == null ? Optional.empty() : Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    /**
+     * Writer loop: collect a batch until it is full or the max delay has passed, then commit it
+     */
+    private void runWriter() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + maxDelay.toNanos();
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                flush(batch);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Commit a batch and complete each write with its own outcome
+     * Rejected requests complete with their error; a failure of the whole batch completes every write exceptionally
+     * @param batch the writes to commit
+     */
+    private void flush(List<PendingWrite> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        log.debug("Flushing {} queued book writes", batch.size());
+
+        List<BookImportService.RowResult> results;
+        try {
+            results = bookImportService.importBatch(batch.stream().map(PendingWrite::request).toList());
+        } catch (RuntimeException ex) {
+            log.error("Write-behind batch of {} failed: {}", batch.size(), ex.getMessage(), ex);
+            batch.forEach(write -> fail(write, ex));
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), results.get(i));
+        }
+    }
+
+    private void complete(PendingWrite write, BookImportService.RowResult result) {
+        statuses.put(write.trackingId(), BookWriteStatus.builder()
+                .trackingId(write.trackingId())
+                .state(result.isImported() ? BookWriteStatus.State.COMMITTED : BookWriteStatus.State.FAILED)
+                .bookId(result.isImported() ? result.book().getId() : null)
+                .message(result.error())
+                .build());
+        write.result().complete(result);
+    }
+
+    private void fail(PendingWrite write, RuntimeException ex) {
+        statuses.put(write.trackingId(), BookWriteStatus.builder()
+                .trackingId(write.trackingId())
+                .state(BookWriteStatus.State.FAILED)
+                .message("Write failed: " + ex.getMessage())
+                .build());
+        write.result().completeExceptionally(ex);
+    }
+
+    /**
+     * A create request waiting in the queue
+     * @param trackingId the ID clients use to follow the write
+     * @param request the create request
+     * @param result completed once the batch containing the write has been committed or rejected,
+     *               completed exceptionally if the batch itself failed
+     */
+    public record PendingWrite(String trackingId,
+                               CreateBookRequest request,
+                               CompletableFuture<BookImportService.RowResult> result) {
+    }
+}
@@ -0,0 +1,26 @@
+-- Book catalog schema, mirrors the Book entity
+-- INCREMENT BY must match Book.ID_ALLOCATION_SIZE, ids are handed out in pooled-lo blocks
+CREATE SEQUENCE books_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE books (
+    id            BIGINT                      NOT NULL,
+    title         VARCHAR(255)                NOT NULL,
+    author        VARCHAR(255)                NOT NULL,
+    category      VARCHAR(255)                NOT NULL,
+    isbn          VARCHAR(255)                NOT NULL,
+    price         NUMERIC(38, 2)              NOT NULL,
+    featured      BOOLEAN                     NOT NULL,
+    bestseller    BOOLEAN                     NOT NULL,
+    display_price NUMERIC(38, 2),
+    description   VARCHAR(1024),
+    version       BIGINT,
+    updated_at    TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT pk_books PRIMARY KEY (id),
+    CONSTRAINT uk_books_isbn UNIQUE (isbn)
+);
+
+CREATE INDEX idx_books_category ON books (category);
+CREATE INDEX idx_books_author ON books (author);
+CREATE INDEX idx_books_title ON books (title);
+CREATE INDEX idx_books_featured ON books (featured, id);
+CREATE INDEX idx_books_bestseller ON books (bestseller, id);
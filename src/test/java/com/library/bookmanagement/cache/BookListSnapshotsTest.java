@@ -0,0 +1,106 @@
+package com.library.bookmanagement.cache;
+
+import com.library.bookmanagement.dto.BookResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the changes of one transaction are merged into the snapshots as one new list
+ */
+class BookListSnapshotsTest {
+
+    private BookListSnapshots snapshots;
+
+    @BeforeEach
+    void setUp() {
+        snapshots = new BookListSnapshots();
+        snapshots.load(
+                () -> List.of(book(5L, true, false), book(1L, true, true), book(3L, true, false)),
+                () -> List.of(book(1L, true, true)));
+    }
+
+    @Test
+    void testLoadSortsById() {
+        assertEquals(List.of(1L, 3L, 5L), ids(snapshots.featured()));
+        assertEquals(List.of(1L), ids(snapshots.bestsellers()));
+    }
+
+    @Test
+    void testApplyMergesAllChangesOfATransaction() {
+        Map<Long, BookResponse> changes = new HashMap<>();
+        changes.put(4L, book(4L, true, true));
+        changes.put(2L, book(2L, true, false));
+        changes.put(3L, null);
+        changes.put(1L, book(1L, false, true));
+        snapshots.apply(changes);
+
+        assertEquals(List.of(2L, 4L, 5L), ids(snapshots.featured()));
+        assertEquals(List.of(1L, 4L), ids(snapshots.bestsellers()));
+    }
+
+    @Test
+    void testApplyReplacesChangedBook() {
+        BookResponse renamed = book(3L, true, false);
+        renamed.setTitle("Renamed");
+        snapshots.apply(Map.of(3L, renamed));
+
+        assertSame(renamed, snapshots.featured().get(1));
+    }
+
+    @Test
+    void testApplyKeepsListWhenNoMemberChanges() {
+        List<BookResponse> featured = snapshots.featured();
+        List<BookResponse> bestsellers = snapshots.bestsellers();
+        snapshots.apply(Map.of(7L, book(7L, false, false)));
+
+        assertSame(featured, snapshots.featured());
+        assertSame(bestsellers, snapshots.bestsellers());
+    }
+
+    @Test
+    void testOlderChangeDoesNotOverwriteNewerEntry() {
+        BookResponse newer = book(3L, true, false);
+        newer.setVersion(2L);
+        newer.setTitle("Newer");
+        snapshots.apply(Map.of(3L, newer));
+
+        BookResponse older = book(3L, true, false);
+        older.setVersion(1L);
+        older.setTitle("Older");
+        snapshots.apply(Map.of(3L, older));
+
+        BookResponse unfeatured = book(3L, false, false);
+        unfeatured.setVersion(2L);
+        snapshots.apply(Map.of(3L, unfeatured));
+
+        assertSame(newer, snapshots.featured().get(1));
+
+        unfeatured.setVersion(3L);
+        snapshots.apply(Map.of(3L, unfeatured));
+
+        assertEquals(List.of(1L, 5L), ids(snapshots.featured()));
+    }
+
+    @Test
+    void testApplyIgnoredBeforeLoad() {
+        BookListSnapshots unloaded = new BookListSnapshots();
+        unloaded.apply(Map.of(1L, book(1L, true, true)));
+
+        assertNull(unloaded.featured());
+        assertNull(unloaded.bestsellers());
+    }
+
+    private static BookResponse book(Long id, boolean featured, boolean bestseller) {
+        return BookResponse.builder().id(id).featured(featured).bestseller(bestseller).build();
+    }
+
+    private static List<Long> ids(List<BookResponse> books) {
+        return books.stream().map(BookResponse::getId).toList();
+    }
+}
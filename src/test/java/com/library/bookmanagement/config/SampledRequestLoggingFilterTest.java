@@ -0,0 +1,103 @@
+package com.library.bookmanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.bookmanagement.model.Book;
+import com.library.bookmanagement.service.BookService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that async requests are logged once, when they complete, with their full duration
+ */
+@SpringBootTest(properties = {
+        "library.logging.requests.enabled=true",
+        "library.logging.requests.sample-rate=1.0"
+})
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class SampledRequestLoggingFilterTest {
+
+    private static final Pattern CHANGES_LINE = Pattern.compile("GET /api/books/changes -> (\\d+) in (\\d+) ms");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookService bookService;
+
+    @Test
+    void testLongPollIsLoggedOnceWithItsFullDuration(CapturedOutput output) throws Exception {
+        MvcResult current = mockMvc.perform(get("/api/books/changes").param("since", "0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String latest = objectMapper.readTree(mockMvc.perform(asyncDispatch(current))
+                        .andReturn().getResponse().getContentAsString())
+                .path("latestCursor").asText();
+        int before = count(output.getOut());
+
+        MvcResult result = mockMvc.perform(get("/api/books/changes").param("since", latest).param("wait", "30"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(before, count(output.getOut()));
+
+        // The long-poll is answered by the next change
+        Thread.sleep(1000);
+        bookService.addBook(Book.builder()
+                .title("Logged Change")
+                .author("Test Author")
+                .category("Testing")
+                .isbn("LOG-" + UUID.randomUUID())
+                .price(new BigDecimal("10.00"))
+                .featured(false)
+                .bestseller(false)
+                .build());
+        result.getAsyncResult(5000);
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        String out = output.getOut();
+        assertEquals(before + 1, count(out));
+
+        Matcher last = lastMatch(out);
+        assertEquals("200", last.group(1));
+        assertTrue(Long.parseLong(last.group(2)) >= 900, last.group());
+    }
+
+    private static int count(String out) {
+        Matcher matcher = CHANGES_LINE.matcher(out);
+        int count = 0;
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+
+    private static Matcher lastMatch(String out) {
+        Matcher matcher = CHANGES_LINE.matcher(out);
+        int start = -1;
+        while (matcher.find()) {
+            start = matcher.start();
+        }
+        assertTrue(matcher.find(start));
+        return matcher;
+    }
+}
@@ -0,0 +1,106 @@
+package com.library.bookmanagement.controller;
+
+import com.library.bookmanagement.model.Book;
+import com.library.bookmanagement.service.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the streamed listing of GET /api/books, that the original author and category filters stay unpaged
+ * and that search pages are bounded
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookControllerSearchTest {
+
+    private static final int BOOKS = 60;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookService bookService;
+
+    private String author;
+
+    @BeforeEach
+    void addBooks() {
+        author = "Search Author " + UUID.randomUUID();
+        for (int i = 0; i < BOOKS; i++) {
+            bookService.addBook(Book.builder()
+                    .title("Search Test " + i)
+                    .author(author)
+                    .category("Searching")
+                    .isbn("SEARCH-" + UUID.randomUUID())
+                    .price(new BigDecimal("10.00"))
+                    .featured(false)
+                    .bestseller(false)
+                    .build());
+        }
+    }
+
+    @Test
+    void testListingStreamsEveryBook() throws Exception {
+        getBooks(get("/api/books"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[?(@.author == '" + author + "')]", hasSize(BOOKS)));
+    }
+
+    @Test
+    void testAuthorFilterReturnsEveryMatch() throws Exception {
+        getBooks(get("/api/books").param("author", author))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(BOOKS));
+
+        getBooks(get("/api/books").param("author", author).param("category", "Searching"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(BOOKS));
+    }
+
+    @Test
+    void testPagedSearchReturnsOnePage() throws Exception {
+        getBooks(get("/api/books").param("author", author).param("size", "25").param("page", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(BOOKS - 50));
+
+        getBooks(get("/api/books").param("author", author).param("sort", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(50));
+    }
+
+    @Test
+    void testPageBeyondIntRangeIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/books").param("page", String.valueOf(Integer.MAX_VALUE)).param("size", "500"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Perform a listing request and complete its streamed response
+     */
+    private ResultActions getBooks(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -0,0 +1,130 @@
+package com.library.bookmanagement.controller;
+
+import com.library.bookmanagement.model.Book;
+import com.library.bookmanagement.service.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks PATCH updates, unconditionally and conditionally with If-Match, and the revalidation of updated books
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookControllerUpdateTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookService bookService;
+
+    private Book book;
+
+    @BeforeEach
+    void addBook() {
+        book = bookService.addBook(Book.builder()
+                .title("Patch Test")
+                .author("Test Author")
+                .category("Testing")
+                .isbn("PATCH-" + UUID.randomUUID())
+                .price(new BigDecimal("10.00"))
+                .featured(false)
+                .bestseller(false)
+                .build());
+    }
+
+    @Test
+    void testPatchWithoutIfMatchReturnsUpdatedBook() throws Exception {
+        mockMvc.perform(patch("/api/books/{id}", book.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Patched\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (book.getVersion() + 1) + "\""))
+                .andExpect(jsonPath("$.title").value("Patched"))
+                .andExpect(jsonPath("$.author").value("Test Author"));
+    }
+
+    @Test
+    void testConditionalPatchReturnsNoContentWithNewETag() throws Exception {
+        String eTag = mockMvc.perform(get("/api/books/{id}", book.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals("\"" + book.getVersion() + "\"", eTag);
+
+        mockMvc.perform(patch("/api/books/{id}", book.getId())
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"price\":12.50}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (book.getVersion() + 1) + "\""));
+
+        mockMvc.perform(get("/api/books/{id}", book.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (book.getVersion() + 1) + "\""))
+                .andExpect(jsonPath("$.originalPrice").value(12.50))
+                .andExpect(jsonPath("$.title").value("Patch Test"));
+    }
+
+    @Test
+    void testConditionalPatchWithStaleVersionFailsPrecondition() throws Exception {
+        mockMvc.perform(patch("/api/books/{id}", book.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + book.getVersion() + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"First\"}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(patch("/api/books/{id}", book.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + book.getVersion() + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Second\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals("First", bookService.getBookById(book.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void testConditionalPatchWithWeakETagFailsPrecondition() throws Exception {
+        mockMvc.perform(patch("/api/books/{id}", book.getId())
+                        .header(HttpHeaders.IF_MATCH, "W/\"" + book.getVersion() + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Weak\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals("Patch Test", bookService.getBookById(book.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void testRevalidationIsNotModifiedUntilTheBookChanges() throws Exception {
+        String eTag = "\"" + book.getVersion() + "\"";
+        mockMvc.perform(get("/api/books/{id}", book.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        mockMvc.perform(patch("/api/books/{id}", book.getId())
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Revalidated\"}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/books/{id}", book.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (book.getVersion() + 1) + "\""))
+                .andExpect(jsonPath("$.title").value("Revalidated"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.library.bookmanagement.decorator;
+
+import com.library.bookmanagement.model.Book;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests checking that compiled decoration plans match the decorator chain
+ */
+class CompiledDecorationTest {
+
+    private static final boolean[][] FLAG_COMBINATIONS = {
+            {false, false}, {true, false}, {false, true}, {true, true}
+    };
+
+    @Test
+    void testCompiledPlanMatchesDecoratorChainAcrossPrices() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            // Mix scales 0-4 so intermediate rounding of the chain is exercised
+            int scale = random.nextInt(5);
+            BigDecimal price = BigDecimal.valueOf(random.nextInt(10_000_000), scale);
+
+            for (boolean[] flags : FLAG_COMBINATIONS) {
+                Book book = Book.builder()
+                        .title("Title " + i)
+                        .author("Author " + i)
+                        .price(price)
+                        .featured(flags[0])
+                        .bestseller(flags[1])
+                        .build();
+
+                BookComponent chain = BookDecorations.decorateWithChain(book);
+                BookComponent compiled = BookDecorations.decorate(book);
+
+                assertEquals(chain.getPrice(), compiled.getPrice(), "price for " + book);
+                assertEquals(chain.getDescription(), compiled.getDescription(), "description for " + book);
+            }
+        }
+    }
+
+    @Test
+    void testCompiledPlanMatchesHalfUpBoundaries() {
+        // Prices whose first step lands exactly on a rounding boundary
+        for (String value : List.of("0.05", "0.15", "0.25", "4.55", "45.99", "99.95", "100.00", "0.01")) {
+            BigDecimal price = new BigDecimal(value);
+            BookComponent chain = new BestsellerBookDecorator(new FeaturedBookDecorator(
+                    new SimpleBook(Book.builder().title("T").author("A").price(price).build())));
+
+            DecorationPlan plan = DecorationPlan.compile(List.of(Decoration.FEATURED, Decoration.BESTSELLER));
+
+            assertEquals(chain.getPrice(), plan.applyPrice(price));
+            assertEquals(chain.getDescription(), plan.describe("T", "A"));
+        }
+    }
+
+    @Test
+    void testPlanPrefixFollowsDecoratorOrder() {
+        DecorationPlan plan = DecorationPlan.compile(List.of(Decoration.BESTSELLER, Decoration.FEATURED));
+
+        assertEquals("[FEATURED] [BESTSELLER] ", plan.getPrefix());
+        assertEquals(List.of(new BigDecimal("1.05"), new BigDecimal("1.10")), plan.getMultipliers());
+    }
+
+    @Test
+    void testFlagPlansAreCached() {
+        assertSame(DecorationPlan.forFlags(true, true), DecorationPlan.forFlags(true, true));
+        assertSame(DecorationPlan.forFlags(false, false), DecorationPlan.forFlags(false, false));
+    }
+
+    @Test
+    void testUndecoratedPlanKeepsOriginalPrice() {
+        BigDecimal price = new BigDecimal("12.345");
+
+        assertSame(price, DecorationPlan.forFlags(false, false).applyPrice(price));
+        assertEquals("Test Book by Test Author", DecorationPlan.forFlags(false, false).describe("Test Book", "Test Author"));
+    }
+}
@@ -0,0 +1,114 @@
+package com.library.bookmanagement.facade;
+
+import com.library.bookmanagement.cache.BookResponseCache;
+import com.library.bookmanagement.cache.CatalogVersion;
+import com.library.bookmanagement.dto.BookBatchResponse;
+import com.library.bookmanagement.dto.BookResponse;
+import com.library.bookmanagement.model.Book;
+import com.library.bookmanagement.service.BookService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the batch get of LibraryFacade: request order, de-duplication, missing IDs and the response cache
+ */
+class LibraryFacadeBatchGetTest {
+
+    private final BookService bookService = mock(BookService.class);
+    private BookResponseCache bookResponseCache;
+    private LibraryFacade libraryFacade;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        bookResponseCache = new BookResponseCache(100, Duration.ofMinutes(10), meterRegistry);
+        libraryFacade = new LibraryFacade(bookService, bookResponseCache,
+                null, null, null, new CatalogVersion(), null, null, null, meterRegistry);
+        libraryFacade.registerMeters();
+        ReflectionTestUtils.setField(libraryFacade, "maxBatchIds", 5);
+    }
+
+    @Test
+    void testBooksAreReturnedInRequestOrderOnce() {
+        when(bookService.getBooksByIds(List.of(3L, 1L, 2L))).thenReturn(List.of(book(1L), book(2L), book(3L)));
+
+        BookBatchResponse response = libraryFacade.getBooksByIds(List.of(3L, 1L, 3L, 2L, 1L));
+
+        assertEquals(List.of(3L, 1L, 2L), ids(response));
+        assertEquals(List.of(), response.getMissingIds());
+        verify(bookService, times(1)).getBooksByIds(any());
+    }
+
+    @Test
+    void testMissingIdsAreReportedInRequestOrder() {
+        when(bookService.getBooksByIds(List.of(9L, 1L, 8L))).thenReturn(List.of(book(1L)));
+
+        BookBatchResponse response = libraryFacade.getBooksByIds(Arrays.asList(9L, 1L, null, 8L, 9L));
+
+        assertEquals(List.of(1L), ids(response));
+        assertEquals(List.of(9L, 8L), response.getMissingIds());
+    }
+
+    @Test
+    void testCachedBooksAreNotLoadedAgain() {
+        BookResponse cached = bookResponseCache.get(2L, id -> BookResponse.builder().id(id).title("Cached").build());
+        when(bookService.getBooksByIds(List.of(1L, 3L))).thenReturn(List.of(book(3L), book(1L)));
+
+        BookBatchResponse response = libraryFacade.getBooksByIds(List.of(1L, 2L, 3L));
+
+        assertEquals(List.of(1L, 2L, 3L), ids(response));
+        assertSame(cached, response.getBooks().get(1));
+        assertEquals("Book 3", response.getBooks().get(2).getTitle());
+        verify(bookService).getBooksByIds(List.of(1L, 3L));
+    }
+
+    @Test
+    void testAllCachedBooksRunNoQuery() {
+        bookResponseCache.get(1L, id -> BookResponse.builder().id(id).build());
+        bookResponseCache.get(2L, id -> BookResponse.builder().id(id).build());
+
+        BookBatchResponse response = libraryFacade.getBooksByIds(List.of(2L, 1L));
+
+        assertEquals(List.of(2L, 1L), ids(response));
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    void testTooManyDistinctIdsAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> libraryFacade.getBooksByIds(List.of(1L, 2L, 3L, 4L, 5L, 6L)));
+        verifyNoInteractions(bookService);
+
+        // Duplicates do not count against the limit
+        when(bookService.getBooksByIds(any())).thenReturn(List.of());
+        assertEquals(5, libraryFacade.getBooksByIds(List.of(1L, 2L, 3L, 4L, 5L, 1L, 2L)).getMissingIds().size());
+    }
+
+    private static List<Long> ids(BookBatchResponse response) {
+        return response.getBooks().stream().map(BookResponse::getId).toList();
+    }
+
+    private static Book book(Long id) {
+        return Book.builder()
+                .id(id)
+                .title("Book " + id)
+                .author("Author")
+                .category("Fiction")
+                .isbn("isbn-" + id)
+                .price(new BigDecimal("20.00"))
+                .featured(false)
+                .bestseller(false)
+                .build();
+    }
+}
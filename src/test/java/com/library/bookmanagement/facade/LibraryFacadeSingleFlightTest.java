@@ -0,0 +1,220 @@
+package com.library.bookmanagement.facade;
+
+import com.library.bookmanagement.cache.BookResponseCache;
+import com.library.bookmanagement.cache.CatalogVersion;
+import com.library.bookmanagement.dto.BookResponse;
+import com.library.bookmanagement.model.Book;
+import com.library.bookmanagement.model.BookView;
+import com.library.bookmanagement.service.BookService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Concurrency tests for the single-flight layer of LibraryFacade
+ * Callers are released only once every one of them is parked, either in the running query or waiting for it
+ */
+class LibraryFacadeSingleFlightTest {
+
+    private static final int CALLERS = 32;
+
+    private final BookService bookService = mock(BookService.class);
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+    private LibraryFacade libraryFacade;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        libraryFacade = new LibraryFacade(bookService,
+                new BookResponseCache(100, Duration.ofMinutes(10), meterRegistry),
+                null, null, null, catalogVersion, null, null, null, meterRegistry);
+        libraryFacade.registerMeters();
+        ReflectionTestUtils.setField(libraryFacade, "singleFlightMaxWait", Duration.ofSeconds(10));
+    }
+
+    @Test
+    void testConcurrentCategoryReadsRunOneQuery() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookService.findByCategory("Fiction")).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return List.of(BookView.of(book(1L)), BookView.of(book(2L)));
+        });
+
+        List<Object> results = runConcurrently(() -> libraryFacade.findBooksByCategory("Fiction"), release);
+
+        verify(bookService, times(1)).findByCategory("Fiction");
+        assertEquals(2, ((List<?>) results.get(0)).size());
+        results.forEach(result -> assertSame(results.get(0), result));
+    }
+
+    @Test
+    void testConcurrentReadsByIdRunOneQuery() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookService.getBookById(1L)).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return Optional.of(book(1L));
+        });
+
+        List<Object> results = runConcurrently(() -> libraryFacade.getBookById(1L), release);
+
+        verify(bookService, times(1)).getBookById(1L);
+        assertEquals(1L, ((BookResponse) results.get(0)).getId());
+        results.forEach(result -> assertSame(results.get(0), result));
+    }
+
+    @Test
+    void testFailureReachesEveryWaiterAndIsNotRemembered() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database unavailable");
+        when(bookService.findByCategory("Fiction"))
+                .thenAnswer(invocation -> {
+                    release.await(10, TimeUnit.SECONDS);
+                    throw failure;
+                })
+                .thenReturn(List.of(BookView.of(book(1L))));
+
+        List<Object> results = runConcurrently(() -> libraryFacade.findBooksByCategory("Fiction"), release);
+
+        results.forEach(result -> assertSame(failure, result));
+        assertEquals(1, libraryFacade.findBooksByCategory("Fiction").size());
+        verify(bookService, times(2)).findByCategory("Fiction");
+    }
+
+    @Test
+    void testWaiterPastMaxWaitReadsIndependently() throws Exception {
+        ReflectionTestUtils.setField(libraryFacade, "singleFlightMaxWait", Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookService.findByCategory("Fiction"))
+                .thenAnswer(invocation -> {
+                    release.await(10, TimeUnit.SECONDS);
+                    return List.of(BookView.of(book(1L)));
+                })
+                .thenReturn(List.of(BookView.of(book(2L))));
+
+        Thread leader = new Thread(() -> libraryFacade.findBooksByCategory("Fiction"));
+        leader.start();
+        awaitParked(List.of(leader));
+
+        List<BookResponse> independent = libraryFacade.findBooksByCategory("Fiction");
+        release.countDown();
+        leader.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertEquals(2L, independent.get(0).getId());
+        verify(bookService, times(2)).findByCategory("Fiction");
+    }
+
+    @Test
+    void testReadAfterCatalogChangeDoesNotJoinOlderRead() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookService.findByCategory("Fiction"))
+                .thenAnswer(invocation -> {
+                    release.await(10, TimeUnit.SECONDS);
+                    return List.of(BookView.of(book(1L)));
+                })
+                .thenReturn(List.of(BookView.of(book(2L))));
+
+        Thread leader = new Thread(() -> libraryFacade.findBooksByCategory("Fiction"));
+        leader.start();
+        awaitParked(List.of(leader));
+
+        catalogVersion.bump();
+        List<BookResponse> afterChange = libraryFacade.findBooksByCategory("Fiction");
+        release.countDown();
+        leader.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertEquals(2L, afterChange.get(0).getId());
+        verify(bookService, times(2)).findByCategory("Fiction");
+    }
+
+    @Test
+    void testIsbnReadAfterCatalogChangeDoesNotJoinOlderRead() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Book before = book(1L);
+        Book after = book(1L);
+        after.setTitle("Updated");
+        when(bookService.getBookByIsbn("ISBN-1"))
+                .thenAnswer(invocation -> {
+                    release.await(10, TimeUnit.SECONDS);
+                    return Optional.of(before);
+                })
+                .thenReturn(Optional.of(after));
+
+        Thread leader = new Thread(() -> libraryFacade.getBookByIsbn("ISBN-1"));
+        leader.start();
+        awaitParked(List.of(leader));
+
+        catalogVersion.bump();
+        BookResponse afterChange = libraryFacade.getBookByIsbn("ISBN-1");
+        release.countDown();
+        leader.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertEquals("Updated", afterChange.getTitle());
+        verify(bookService, times(2)).getBookByIsbn("ISBN-1");
+    }
+
+    /**
+     * Call the facade from CALLERS threads and release the blocked query once all of them are parked
+     * @param call the facade call
+     * @param release latch the mocked query waits on
+     * @return each caller's result, or the exception it got
+     */
+    private static List<Object> runConcurrently(Callable<?> call, CountDownLatch release) throws InterruptedException {
+        Object[] outcomes = new Object[CALLERS];
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            int caller = i;
+            threads.add(new Thread(() -> {
+                try {
+                    outcomes[caller] = call.call();
+                } catch (Exception ex) {
+                    outcomes[caller] = ex;
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        awaitParked(threads);
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        return List.of(outcomes);
+    }
+
+    /**
+     * Wait until every thread is in a timed wait, i.e. inside the mocked query or waiting for its result
+     * @param threads the caller threads
+     */
+    private static void awaitParked(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!threads.stream().allMatch(thread -> thread.getState() == Thread.State.TIMED_WAITING)) {
+            assertTrue(System.nanoTime() < deadline, "callers did not block on the shared query");
+            Thread.sleep(5);
+        }
+    }
+
+    private static Book book(Long id) {
+        return Book.builder()
+                .id(id)
+                .title("Book " + id)
+                .author("Author")
+                .category("Fiction")
+                .isbn("isbn-" + id)
+                .price(new BigDecimal("20.00"))
+                .featured(true)
+                .bestseller(false)
+                .build();
+    }
+}
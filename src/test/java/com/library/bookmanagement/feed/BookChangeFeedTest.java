@@ -0,0 +1,98 @@
+package com.library.bookmanagement.feed;
+
+import com.library.bookmanagement.dto.BookChangeFeedResponse;
+import com.library.bookmanagement.dto.BookChangeResponse;
+import com.library.bookmanagement.event.BookChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks change feed cursors, including cursors left over from another instance
+ */
+class BookChangeFeedTest {
+
+    private BookChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new BookChangeFeed();
+        ReflectionTestUtils.setField(feed, "capacity", 4);
+        ReflectionTestUtils.setField(feed, "maxBatch", 100);
+        feed.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.stop();
+    }
+
+    @Test
+    void testReadFromStartAndResumeFromNextCursor() {
+        change(1L);
+        change(2L);
+
+        BookChangeFeedResponse first = feed.read("0", 10);
+        assertFalse(first.isGap());
+        assertEquals(List.of(1L, 2L), bookIds(first));
+        assertEquals(first.getLatestCursor(), first.getNextCursor());
+
+        change(3L);
+        BookChangeFeedResponse next = feed.read(first.getNextCursor(), 10);
+        assertFalse(next.isGap());
+        assertEquals(List.of(3L), bookIds(next));
+    }
+
+    @Test
+    void testCursorOfAnotherInstanceIsAGap() {
+        change(1L);
+        change(2L);
+        String epoch = feed.read("0", 10).getNextCursor().split("-")[0];
+
+        BookChangeFeedResponse batch = feed.read(epoch + "x-1", 10);
+
+        assertTrue(batch.isGap());
+        assertEquals(List.of(1L, 2L), bookIds(batch));
+        assertFalse(feed.read(batch.getNextCursor(), 10).isGap());
+    }
+
+    @Test
+    void testBareSequenceIsAGap() {
+        change(1L);
+
+        assertTrue(feed.read("1", 10).isGap());
+    }
+
+    @Test
+    void testCursorBehindTheBufferIsAGap() {
+        change(1L);
+        String cursor = feed.read("0", 10).getNextCursor();
+        for (long id = 2; id <= 6; id++) {
+            change(id);
+        }
+
+        BookChangeFeedResponse batch = feed.read(cursor, 10);
+
+        assertTrue(batch.isGap());
+        assertEquals(List.of(3L, 4L, 5L, 6L), bookIds(batch));
+        assertEquals(3, batch.getOldestSequence());
+    }
+
+    @Test
+    void testMalformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> feed.read("abc-x", 10));
+    }
+
+    private void change(Long bookId) {
+        feed.onBookChanged(new BookChangedEvent(BookChangedEvent.Type.UPDATED, bookId, null));
+    }
+
+    private static List<Long> bookIds(BookChangeFeedResponse batch) {
+        return batch.getChanges().stream().map(BookChangeResponse::getBookId).toList();
+    }
+}
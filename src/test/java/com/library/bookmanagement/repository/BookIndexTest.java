@@ -0,0 +1,87 @@
+package com.library.bookmanagement.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks through H2 EXPLAIN that the repository finders use secondary indexes instead of table scans
+ * The SQL explained is the statement Hibernate generates for each finder, captured by a StatementInspector
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.library.bookmanagement.repository.BookIndexTest$SqlCapture")
+class BookIndexTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testFindByCategoryUsesIndex() {
+        assertUsesIndex(() -> bookRepository.findByCategory("Fiction"), "IDX_BOOKS_CATEGORY", "Fiction");
+        assertUsesIndex(() -> bookRepository.findViewsByCategory("Fiction"), "IDX_BOOKS_CATEGORY", "Fiction");
+    }
+
+    @Test
+    void testFindByAuthorUsesIndex() {
+        assertUsesIndex(() -> bookRepository.findByAuthor("George Orwell"), "IDX_BOOKS_AUTHOR", "George Orwell");
+        assertUsesIndex(() -> bookRepository.findViewsByAuthor("George Orwell"), "IDX_BOOKS_AUTHOR", "George Orwell");
+    }
+
+    @Test
+    void testFindByFeaturedUsesIndex() {
+        assertUsesIndex(() -> bookRepository.findFeaturedViews(), "IDX_BOOKS_FEATURED");
+    }
+
+    @Test
+    void testFindByBestsellerUsesIndex() {
+        assertUsesIndex(() -> bookRepository.findBestsellerViews(), "IDX_BOOKS_BESTSELLER");
+    }
+
+    @Test
+    void testFindByIsbnUsesUniqueIndex() {
+        assertUsesIndex(() -> bookRepository.findByIsbn("978-0451524935"), "UK_BOOKS_ISBN", "978-0451524935");
+    }
+
+    /**
+     * Run a finder, capture the single statement it executes and check its plan
+     * @param finder the finder call
+     * @param indexName the index the plan must use
+     * @param parameters the JDBC parameters of the statement, in order
+     */
+    private void assertUsesIndex(Runnable finder, String indexName, Object... parameters) {
+        SqlCapture.STATEMENTS.clear();
+        finder.run();
+        List<String> statements = List.copyOf(SqlCapture.STATEMENTS);
+        assertEquals(1, statements.size(), "Expected one statement, got: " + statements);
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + statements.get(0), String.class, parameters);
+
+        assertNotNull(plan);
+        assertTrue(plan.toUpperCase().contains(indexName), "Expected " + indexName + " in plan: " + plan);
+        assertFalse(plan.contains("tableScan"), "Unexpected table scan in plan: " + plan);
+    }
+
+    /**
+     * Records every SQL statement Hibernate prepares
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.library.bookmanagement.repository;
+
+import com.library.bookmanagement.decorator.BookDecorations;
+import com.library.bookmanagement.dto.BookStatsResponse;
+import com.library.bookmanagement.model.Book;
+import com.library.bookmanagement.service.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the display price statistics computed by the database match the decorators for every
+ * featured/bestseller combination, including prices whose decoration rounds at each step
+ */
+@SpringBootTest
+class BookStatsAggregateTest {
+
+    private static final List<String> PRICES = List.of("0.01", "10.05", "19.99", "33.33", "45.99", "999.95");
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    private String category;
+    private final List<Book> books = new ArrayList<>();
+
+    @BeforeEach
+    void addBooks() {
+        category = "Stats-" + UUID.randomUUID();
+        for (boolean featured : new boolean[]{false, true}) {
+            for (boolean bestseller : new boolean[]{false, true}) {
+                for (String price : PRICES) {
+                    books.add(bookService.addBook(Book.builder()
+                            .title("Stats " + price)
+                            .author(author(featured, bestseller))
+                            .category(category)
+                            .isbn("STATS-" + UUID.randomUUID())
+                            .price(new BigDecimal(price))
+                            .featured(featured)
+                            .bestseller(bestseller)
+                            .build()));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testDisplayPriceStatsMatchDecoratorsPerCombination() {
+        List<BookStatsResponse.GroupStats> byAuthor = bookRepository.aggregate("author");
+        for (boolean featured : new boolean[]{false, true}) {
+            for (boolean bestseller : new boolean[]{false, true}) {
+                String author = author(featured, bestseller);
+                assertMatchesDecorators(group(byAuthor, author), books.stream()
+                        .filter(book -> book.getAuthor().equals(author))
+                        .toList());
+            }
+        }
+    }
+
+    @Test
+    void testDisplayPriceStatsMatchDecoratorsAcrossCombinations() {
+        assertMatchesDecorators(group(bookRepository.aggregate("category"), category), books);
+    }
+
+    private void assertMatchesDecorators(BookStatsResponse.GroupStats stats, List<Book> group) {
+        List<BigDecimal> displayPrices = group.stream()
+                .map(book -> BookDecorations.decorate(book).getPrice())
+                .toList();
+        BigDecimal sum = displayPrices.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        assertEquals(group.size(), stats.getCount(), stats.getKey());
+        assertEquals(displayPrices.stream().min(Comparator.naturalOrder()).orElseThrow().setScale(2),
+                stats.getMinDisplayPrice(), stats.getKey());
+        assertEquals(displayPrices.stream().max(Comparator.naturalOrder()).orElseThrow().setScale(2),
+                stats.getMaxDisplayPrice(), stats.getKey());
+        assertEquals(sum.divide(BigDecimal.valueOf(group.size()), 2, RoundingMode.HALF_UP),
+                stats.getAvgDisplayPrice(), stats.getKey());
+    }
+
+    private String author(boolean featured, boolean bestseller) {
+        return category + "-featured-" + featured + "-bestseller-" + bestseller;
+    }
+
+    private static BookStatsResponse.GroupStats group(List<BookStatsResponse.GroupStats> groups, String key) {
+        return groups.stream()
+                .filter(stats -> key.equals(stats.getKey()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,103 @@
+package com.library.bookmanagement.search;
+
+import com.library.bookmanagement.model.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for tokenizing, prefix matching and ranking of the in-memory search index
+ */
+class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex(null);
+        ReflectionTestUtils.setField(index, "maxCandidates", 1000);
+    }
+
+    @Test
+    void testTokenizeFoldsCaseAndAccentsAndDropsDuplicates() {
+        assertEquals(List.of("cien", "anos", "de", "soledad"), BookSearchIndex.tokenize("Cien Años de Soledad!"));
+        assertEquals(List.of("the", "art", "of"), BookSearchIndex.tokenize("The art of THE Art-of"));
+        assertEquals(List.of(), BookSearchIndex.tokenize("  "));
+        assertEquals(List.of(), BookSearchIndex.tokenize(null));
+    }
+
+    @Test
+    void testAccentsAreIgnoredOnBothSides() {
+        index.index(book(1L, "Les Misérables", "Victor Hugo"));
+
+        assertEquals(List.of(1L), index.search("miser", 10));
+        assertEquals(List.of(1L), index.search("MISÉR", 10));
+    }
+
+    @Test
+    void testEveryQueryTokenMustMatchAPrefix() {
+        index.index(book(1L, "Harry Potter", "J. K. Rowling"));
+        index.index(book(2L, "Harry's Game", "Gerald Seymour"));
+
+        assertEquals(List.of(1L), index.search("har pot", 10));
+        assertEquals(List.of(1L), index.search("rowl harry", 10));
+        assertEquals(List.of(), index.search("harz", 10));
+        assertEquals(List.of(), index.search("potter seymour", 10));
+    }
+
+    @Test
+    void testRankingPrefersExactTitleThenShorterTitle() {
+        index.index(book(1L, "Dunes of Arrakis", "Someone Else"));
+        index.index(book(2L, "Sand", "Dune Writer"));
+        index.index(book(3L, "Dune", "Frank Herbert"));
+
+        // Exact title token (3), then the author exact (2) and title prefix (2) ties broken by title length
+        assertEquals(List.of(3L, 2L, 1L), index.search("dune", 10));
+        assertEquals(List.of(3L, 2L), index.search("dune", 2));
+    }
+
+    @Test
+    void testRemovedBooksAreNotFound() {
+        index.index(book(1L, "Dune", "Frank Herbert"));
+        index.remove(1L);
+
+        assertEquals(List.of(), index.search("dune", 10));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testShortPrefixScoresAtMostTheCandidateCapAndKeepsExactMatches() {
+        ReflectionTestUtils.setField(index, "maxCandidates", 10);
+        for (long id = 1; id <= 50; id++) {
+            index.index(book(id, "Alphabet " + id, "Writer"));
+        }
+        index.index(book(100L, "A", "Writer"));
+
+        List<Long> results = index.search("a", 5);
+
+        assertEquals(5, results.size());
+        assertEquals(100L, results.get(0));
+    }
+
+    @Test
+    void testCandidateCapCountsOnlyBooksMatchingEveryToken() {
+        ReflectionTestUtils.setField(index, "maxCandidates", 10);
+        for (long id = 1; id <= 50; id++) {
+            index.index(book(id, "Alphabet " + id, "Writer"));
+            index.index(book(id + 50, "Soup " + id, "Writer"));
+        }
+        index.index(book(200L, "Alphabet Soup", "Writer"));
+
+        // More books than the cap share each token, only one shares both
+        assertEquals(List.of(200L), index.search("alphabet soup", 5));
+        assertEquals(List.of(200L), index.search("soup alpha", 5));
+    }
+
+    private static Book book(Long id, String title, String author) {
+        return Book.builder().id(id).title(title).author(author).build();
+    }
+}
@@ -0,0 +1,208 @@
+package com.library.bookmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.bookmanagement.dto.BookImportResult;
+import com.library.bookmanagement.repository.BookRepository;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that bulk imports reject bad rows individually and keep loading the rest
+ */
+@SpringBootTest
+class BookImportServiceTest {
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "IMP-" + UUID.randomUUID() + "-";
+    }
+
+    @Test
+    void testJsonRowWithWrongTypeIsRejectedAndLoadContinues() throws Exception {
+        ReflectionTestUtils.setField(bookImportService, "chunkSize", 2);
+        try {
+            String json = "[" + jsonRow("1") + "," + jsonRow("2") + ","
+                    + jsonRow("3").replace("\"price\":12.5", "\"price\":\"abc\"") + "," + jsonRow("4") + "]";
+
+            BookImportResult result = importBooks(json, BookImportService.Format.JSON);
+
+            assertEquals(4, result.getReceived());
+            assertEquals(3, result.getImported());
+            assertEquals(1, result.getFailed());
+            assertFalse(result.isAborted());
+            assertEquals(3, result.getErrors().get(0).getRow());
+            assertTrue(bookRepository.findByIsbn(prefix + "4").isPresent());
+        } finally {
+            ReflectionTestUtils.setField(bookImportService, "chunkSize", 1000);
+        }
+    }
+
+    @Test
+    void testMalformedJsonReportsWhatWasCommitted() throws Exception {
+        ReflectionTestUtils.setField(bookImportService, "chunkSize", 2);
+        try {
+            String json = "[" + jsonRow("1") + "," + jsonRow("2") + "," + jsonRow("3") + ", {\"title\": ]";
+
+            BookImportResult result = importBooks(json, BookImportService.Format.JSON);
+
+            assertTrue(result.isAborted());
+            assertEquals(3, result.getImported());
+            assertEquals(1, result.getFailed());
+            assertTrue(result.getErrors().get(0).getMessage().startsWith("Malformed JSON"));
+            assertTrue(bookRepository.findByIsbn(prefix + "3").isPresent());
+        } finally {
+            ReflectionTestUtils.setField(bookImportService, "chunkSize", 1000);
+        }
+    }
+
+    @Test
+    void testNdjsonBadLinesAreRejected() throws Exception {
+        String ndjson = jsonRow("1") + "\n{not json}\n" + jsonRow("2").replace("\"price\":12.5", "\"price\":\"abc\"")
+                + "\n" + jsonRow("3") + "\n";
+
+        BookImportResult result = importBooks(ndjson, BookImportService.Format.NDJSON);
+
+        assertEquals(4, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(2L, 3L), errorRows(result));
+    }
+
+    @Test
+    void testCsvBadRowsAreRejected() throws Exception {
+        String csv = "title,author,category,isbn,price,featured,bestseller\n"
+                + "Book 1,Author,Testing," + prefix + "1,12.50,false,false\n"
+                + "Book 2,Author,Testing," + prefix + "2,abc,false,false\n"
+                + ",Author,Testing," + prefix + "3,12.50,false,false\n"
+                + "Book 4,Author,Testing," + prefix + "4,12.50,true,true\n";
+
+        BookImportResult result = importBooks(csv, BookImportService.Format.CSV);
+
+        assertEquals(4, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(2L, 3L), errorRows(result));
+        assertTrue(errorMessage(result, 3).contains("title"));
+    }
+
+    @Test
+    void testDuplicateIsbnsWithinChunkAndAgainstCatalog() throws Exception {
+        importBooks("[" + jsonRow("1") + "]", BookImportService.Format.JSON);
+
+        BookImportResult result = importBooks(
+                "[" + jsonRow("1") + "," + jsonRow("2") + "," + jsonRow("2") + "]", BookImportService.Format.JSON);
+
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(1L, 3L), errorRows(result));
+        assertEquals("Book with ISBN already exists: " + prefix + "1", errorMessage(result, 1));
+        assertEquals("Duplicate ISBN in import: " + prefix + "2", errorMessage(result, 3));
+    }
+
+    @Test
+    void testBatchConflictIsRetriedRowByRow() throws Exception {
+        // The pre-check misses an ISBN taken concurrently, so the batch insert fails on the unique index
+        BookRepository repository = mock(BookRepository.class, delegatesTo(bookRepository));
+        doReturn(List.of())
+                .doAnswer(invocation -> bookRepository.findExistingIsbns(invocation.getArgument(0)))
+                .when(repository).findExistingIsbns(anyCollection());
+        BookImportService service = new BookImportService(jdbcTemplate, transactionTemplate, repository,
+                bookService, validator, objectMapper, eventPublisher);
+        ReflectionTestUtils.setField(service, "chunkSize", 1000);
+        ReflectionTestUtils.setField(service, "maxReportedErrors", 1000);
+        importBooks("[" + jsonRow("2") + "]", BookImportService.Format.JSON);
+
+        BookImportResult result = service.importBooks(stream(
+                "[" + jsonRow("1") + "," + jsonRow("2") + "," + jsonRow("3") + "]"), BookImportService.Format.JSON);
+
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(2L), errorRows(result));
+        assertEquals("Book with ISBN already exists: " + prefix + "2", result.getErrors().get(0).getMessage());
+        assertTrue(bookRepository.findByIsbn(prefix + "1").isPresent());
+        assertTrue(bookRepository.findByIsbn(prefix + "3").isPresent());
+    }
+
+    @Test
+    void testNonIsbnViolationReportsDatabaseCause() throws Exception {
+        String longTitle = "x".repeat(300);
+        String json = "[" + jsonRow("1") + "," + jsonRow("2").replace("\"title\":\"Book 2\"", "\"title\":\"" + longTitle + "\"")
+                + "," + jsonRow("3") + "]";
+
+        BookImportResult result = importBooks(json, BookImportService.Format.JSON);
+
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(2L), errorRows(result));
+        String message = result.getErrors().get(0).getMessage();
+        assertTrue(message.startsWith("Row rejected by the database"), message);
+        assertFalse(message.contains("already exists"), message);
+    }
+
+    private BookImportResult importBooks(String content, BookImportService.Format format) throws Exception {
+        return bookImportService.importBooks(stream(content), format);
+    }
+
+    private String jsonRow(String suffix) {
+        return "{\"title\":\"Book " + suffix + "\",\"author\":\"Author\",\"category\":\"Testing\",\"isbn\":\""
+                + prefix + suffix + "\",\"price\":12.5,\"featured\":false,\"bestseller\":false}";
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Long> errorRows(BookImportResult result) {
+        List<Long> rows = new ArrayList<>();
+        result.getErrors().forEach(error -> rows.add(error.getRow()));
+        rows.sort(null);
+        return rows;
+    }
+
+    private static String errorMessage(BookImportResult result, long row) {
+        return result.getErrors().stream()
+                .filter(error -> error.getRow() == row)
+                .findFirst()
+                .orElseThrow()
+                .getMessage();
+    }
+}
@@ -0,0 +1,216 @@
+package com.library.bookmanagement.service;
+
+import com.library.bookmanagement.cache.BookResponseCache;
+import com.library.bookmanagement.cache.CatalogVersion;
+import com.library.bookmanagement.dto.BookWriteStatus;
+import com.library.bookmanagement.dto.CreateBookRequest;
+import com.library.bookmanagement.exception.BookConflictException;
+import com.library.bookmanagement.exception.ErrorResponse;
+import com.library.bookmanagement.exception.GlobalExceptionHandler;
+import com.library.bookmanagement.exception.WriteFailedException;
+import com.library.bookmanagement.exception.WriteQueueFullException;
+import com.library.bookmanagement.facade.LibraryFacade;
+import com.library.bookmanagement.model.Book;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks when the write-behind queue flushes, how each queued create learns its own outcome
+ * and how a full queue pushes back
+ */
+class BookWriteBehindQueueTest {
+
+    private static final String DUPLICATE_ISBN = "WB-DUPLICATE";
+
+    private final BookImportService bookImportService = mock(BookImportService.class);
+    private final AtomicLong ids = new AtomicLong();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BookWriteBehindQueue queue;
+    private LibraryFacade libraryFacade;
+
+    @BeforeEach
+    void setUp() {
+        when(bookImportService.importBatch(anyList())).thenAnswer(invocation -> {
+            List<CreateBookRequest> requests = invocation.getArgument(0);
+            return requests.stream().map(this::importRow).toList();
+        });
+
+        queue = new BookWriteBehindQueue(bookImportService);
+        ReflectionTestUtils.setField(queue, "enabled", true);
+        ReflectionTestUtils.setField(queue, "durability", BookWriteBehindQueue.Durability.GROUP_COMMIT);
+        ReflectionTestUtils.setField(queue, "queueCapacity", 100);
+        ReflectionTestUtils.setField(queue, "batchSize", 100);
+        ReflectionTestUtils.setField(queue, "maxDelay", Duration.ofMillis(20));
+        ReflectionTestUtils.setField(queue, "offerTimeout", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(queue, "statusTtl", Duration.ofMinutes(10));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        libraryFacade = new LibraryFacade(mock(BookService.class),
+                new BookResponseCache(100, Duration.ofMinutes(10), meterRegistry),
+                bookImportService, null, queue, new CatalogVersion(), null, null, null, meterRegistry);
+        ReflectionTestUtils.invokeMethod(libraryFacade, "registerMeters");
+        ReflectionTestUtils.setField(libraryFacade, "groupCommitTimeout", Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        queue.stop();
+    }
+
+    @Test
+    void testFullBatchIsFlushedWithoutWaitingForMaxDelay() throws Exception {
+        ReflectionTestUtils.setField(queue, "batchSize", 3);
+        ReflectionTestUtils.setField(queue, "maxDelay", Duration.ofSeconds(30));
+        queue.start();
+
+        List<BookWriteBehindQueue.PendingWrite> writes = List.of(
+                queue.submit(request("WB-1")), queue.submit(request("WB-2")), queue.submit(request("WB-3")));
+
+        for (BookWriteBehindQueue.PendingWrite write : writes) {
+            assertTrue(write.result().get(5, TimeUnit.SECONDS).isImported());
+        }
+        verify(bookImportService, times(1)).importBatch(anyList());
+    }
+
+    @Test
+    void testPartialBatchIsFlushedAfterMaxDelay() throws Exception {
+        ReflectionTestUtils.setField(queue, "maxDelay", Duration.ofMillis(50));
+        queue.start();
+
+        BookWriteBehindQueue.PendingWrite first = queue.submit(request("WB-1"));
+        BookWriteBehindQueue.PendingWrite second = queue.submit(request("WB-2"));
+
+        assertTrue(first.result().get(5, TimeUnit.SECONDS).isImported());
+        assertTrue(second.result().get(5, TimeUnit.SECONDS).isImported());
+        verify(bookImportService, atMost(2)).importBatch(anyList());
+    }
+
+    @Test
+    void testIsbnConflictWithGroupCommitIsAConflict() {
+        queue.start();
+
+        BookWriteStatus committed = libraryFacade.submitNewBook(request("WB-1"));
+        assertEquals(BookWriteStatus.State.COMMITTED, committed.getState());
+        assertNotNull(committed.getBook());
+
+        BookConflictException ex = assertThrows(BookConflictException.class,
+                () -> libraryFacade.submitNewBook(request(DUPLICATE_ISBN)));
+        assertTrue(ex.getMessage().contains(DUPLICATE_ISBN));
+    }
+
+    @Test
+    void testIsbnConflictWhenAcceptedIsReportedOnTheStatus() throws Exception {
+        ReflectionTestUtils.setField(queue, "durability", BookWriteBehindQueue.Durability.ACCEPTED);
+        queue.start();
+
+        BookWriteStatus accepted = libraryFacade.submitNewBook(request("WB-1"));
+        BookWriteStatus rejected = libraryFacade.submitNewBook(request(DUPLICATE_ISBN));
+        assertEquals(BookWriteStatus.State.PENDING, accepted.getState());
+        assertEquals(BookWriteStatus.State.PENDING, rejected.getState());
+
+        assertEquals(BookWriteStatus.State.COMMITTED, awaitFinalState(accepted.getTrackingId()).getState());
+        BookWriteStatus failed = awaitFinalState(rejected.getTrackingId());
+        assertEquals(BookWriteStatus.State.FAILED, failed.getState());
+        assertTrue(failed.getMessage().contains(DUPLICATE_ISBN));
+    }
+
+    @Test
+    void testBatchFailureIsAServerError() throws Exception {
+        when(bookImportService.importBatch(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        queue.start();
+
+        WriteFailedException ex = assertThrows(WriteFailedException.class,
+                () -> libraryFacade.submitNewBook(request("WB-1")));
+
+        ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler().handleWriteFailedException(ex);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    }
+
+    @Test
+    void testFullQueueIsRejectedWithRetryAfter() throws Exception {
+        CountDownLatch flushing = new CountDownLatch(1);
+        when(bookImportService.importBatch(anyList())).thenAnswer(invocation -> {
+            flushing.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            List<CreateBookRequest> requests = invocation.getArgument(0);
+            return requests.stream().map(this::importRow).toList();
+        });
+        ReflectionTestUtils.setField(queue, "queueCapacity", 1);
+        ReflectionTestUtils.setField(queue, "batchSize", 1);
+        queue.start();
+
+        // The writer holds the first write while the second one fills the queue
+        queue.submit(request("WB-1"));
+        assertTrue(flushing.await(5, TimeUnit.SECONDS));
+        queue.submit(request("WB-2"));
+
+        WriteQueueFullException ex = assertThrows(WriteQueueFullException.class,
+                () -> queue.submit(request("WB-3")));
+
+        ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler().handleWriteQueueFullException(ex);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    private BookImportService.RowResult importRow(CreateBookRequest request) {
+        if (DUPLICATE_ISBN.equals(request.getIsbn())) {
+            return new BookImportService.RowResult(null, "Book with ISBN already exists: " + request.getIsbn());
+        }
+        return new BookImportService.RowResult(Book.builder()
+                .id(ids.incrementAndGet())
+                .title(request.getTitle())
+                .author(request.getAuthor())
+                .category(request.getCategory())
+                .isbn(request.getIsbn())
+                .price(request.getPrice())
+                .featured(request.getFeatured())
+                .bestseller(request.getBestseller())
+                .version(0L)
+                .build(), null);
+    }
+
+    private BookWriteStatus awaitFinalState(String trackingId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            BookWriteStatus status = queue.getStatus(trackingId).orElseThrow();
+            if (status.getState() != BookWriteStatus.State.PENDING) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        fail("Write " + trackingId + " is still pending");
+        return null;
+    }
+
+    private static CreateBookRequest request(String isbn) {
+        return CreateBookRequest.builder()
+                .title("Queued " + isbn)
+                .author("Test Author")
+                .category("Testing")
+                .isbn(isbn)
+                .price(new BigDecimal("10.00"))
+                .featured(false)
+                .bestseller(false)
+                .build();
+    }
+}